@@ -0,0 +1,116 @@
+package com.xulai.elementalcraft.util;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 元素签名基准 / ElementSignature against the per-enchantment lookups it replaced.
+ * <p>
+ * 旧路径按 EnchantmentHelper.getTagEnchantmentLevel 的方式对每个附魔遍历一次附魔列表并解析 ID（攻击属性最多 4 次，强化、抗性各 4 次）；
+ * 新路径为一次 {@link ElementSignature#of} 后读取打包等级，缓存命中时只比较列表身份与长度，不读取 NBT。注册表查找（RegistryObject.get 与 getKey）在游戏外无法复现，
+ * 旧路径的实际开销比这里测得的更高。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ElementSignatureBenchmark {
+
+    // 与旧 getAttackElement 的判定顺序一致
+    private static final ElementType[] ATTACK_ORDER = {
+            ElementType.FIRE, ElementType.NATURE, ElementType.FROST, ElementType.THUNDER
+    };
+
+    private final ResourceLocation[] strikeIds = new ResourceLocation[4];
+    private final ResourceLocation[] enhanceIds = new ResourceLocation[4];
+    private final ResourceLocation[] resistIds = new ResourceLocation[4];
+
+    private ListTag enchantments;
+
+    @Setup
+    public void setup() {
+        for (ElementType type : ElementType.values()) {
+            if (type == ElementType.NONE) continue;
+            int i = type.ordinal() - 1;
+            strikeIds[i] = new ResourceLocation(ElementalCraft.MODID, type.getId() + "_strike");
+            enhanceIds[i] = new ResourceLocation(ElementalCraft.MODID, type.getId() + "_enhancement");
+            resistIds[i] = new ResourceLocation(ElementalCraft.MODID, type.getId() + "_resistance");
+        }
+
+        // 典型的附魔盔甲：三个原版附魔加一个强化、一个抗性
+        enchantments = new ListTag();
+        enchantments.add(entry("minecraft:protection", 4));
+        enchantments.add(entry("minecraft:unbreaking", 3));
+        enchantments.add(entry("minecraft:mending", 1));
+        enchantments.add(entry(ElementalCraft.MODID + ":frost_enhancement", 3));
+        enchantments.add(entry(ElementalCraft.MODID + ":fire_resistance", 2));
+    }
+
+    private static CompoundTag entry(String id, int level) {
+        CompoundTag tag = new CompoundTag();
+        tag.putString("id", id);
+        tag.putShort("lvl", (short) level);
+        return tag;
+    }
+
+    @Benchmark
+    public void perEnchantmentLookup(Blackhole bh) {
+        ElementType attack = ElementType.NONE;
+        for (ElementType type : ATTACK_ORDER) {
+            if (tagLevel(strikeIds[type.ordinal() - 1]) > 0) {
+                attack = type;
+                break;
+            }
+        }
+        bh.consume(attack);
+        for (int i = 0; i < 4; i++) {
+            bh.consume(tagLevel(enhanceIds[i]));
+            bh.consume(tagLevel(resistIds[i]));
+        }
+    }
+
+    @Benchmark
+    public void signatureCached(Blackhole bh) {
+        consume(ElementSignature.of(enchantments), bh);
+    }
+
+    @Benchmark
+    public void signatureDecode(Blackhole bh) {
+        consume(ElementSignature.decode(enchantments), bh);
+    }
+
+    private static void consume(ElementSignature signature, Blackhole bh) {
+        bh.consume(signature.getAttackElement());
+        for (ElementType type : ElementType.values()) {
+            if (type == ElementType.NONE) continue;
+            bh.consume(signature.getEnhancementLevel(type));
+            bh.consume(signature.getResistanceLevel(type));
+        }
+    }
+
+    /**
+     * 与 EnchantmentHelper.getTagEnchantmentLevel 相同的列表遍历。
+     */
+    private int tagLevel(ResourceLocation id) {
+        for (int i = 0; i < enchantments.size(); i++) {
+            CompoundTag entry = enchantments.getCompound(i);
+            ResourceLocation entryId = ResourceLocation.tryParse(entry.getString("id"));
+            if (entryId != null && entryId.equals(id)) {
+                return Mth.clamp(entry.getInt("lvl"), 0, 255);
+            }
+        }
+        return 0;
+    }
+}
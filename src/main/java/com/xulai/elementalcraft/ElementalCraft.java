@@ -1,6 +1,7 @@
 package com.xulai.elementalcraft;
 
 import com.mojang.logging.LogUtils;
+import com.xulai.elementalcraft.capability.ElementalStatus;
 import com.xulai.elementalcraft.client.ModParticles;
 import com.xulai.elementalcraft.command.ModCommands;
 import com.xulai.elementalcraft.config.ElementalConfig;
@@ -10,6 +11,7 @@ import com.xulai.elementalcraft.config.ElementalVisualConfig;
 import com.xulai.elementalcraft.config.ForcedItemConfig;
 import com.xulai.elementalcraft.enchantment.ModEnchantments;
 import com.xulai.elementalcraft.event.TooltipEvents;
+import com.xulai.elementalcraft.network.ModNetwork;
 import com.xulai.elementalcraft.potion.ModMobEffects;
 import com.xulai.elementalcraft.sound.ModSounds;
 import com.xulai.elementalcraft.util.CustomBiomeBias;
@@ -53,7 +55,9 @@ public class ElementalCraft {
         ModMobEffects.register(modEventBus);
         ModSounds.register(modEventBus);
         ModParticles.PARTICLE_TYPES.register(modEventBus);
+        ModNetwork.register();
 
+        modEventBus.addListener(ElementalStatus::register);
         modEventBus.addListener(this::commonSetup);
         modEventBus.addListener(this::onConfigReload);
         modEventBus.addListener(this::onConfigLoad);
@@ -123,6 +127,7 @@ public class ElementalCraft {
     public void onConfigLoad(ModConfigEvent.Loading event) {
         if (event.getConfig().getSpec() == ElementalConfig.SPEC) {
             ElementalConfig.refreshCache();
+            CustomBiomeBias.clearCache();
             LOGGER.info("[ElementalCraft] Config Loaded: elementalcraft-common.toml");
         }
         if (event.getConfig().getSpec() == ElementalFireNatureReactionsConfig.SPEC) {
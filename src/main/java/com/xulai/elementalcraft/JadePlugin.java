@@ -2,7 +2,7 @@ package com.xulai.elementalcraft;
 
 import com.xulai.elementalcraft.config.ElementalConfig;
 import com.xulai.elementalcraft.util.ElementType;
-import com.xulai.elementalcraft.util.ElementUtils;
+import com.xulai.elementalcraft.util.ElementProfile;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
@@ -41,10 +41,8 @@ public class JadePlugin implements IWailaPlugin {
         public void appendTooltip(ITooltip tooltip, EntityAccessor accessor, IPluginConfig config) {
             if (!(accessor.getEntity() instanceof LivingEntity living)) return;
 
-            ElementType attack = ElementUtils.getAttackElement(living.getMainHandItem());
-            if (attack == ElementType.NONE) {
-                attack = ElementUtils.getAttackElement(living.getOffhandItem());
-            }
+            ElementProfile profile = ElementProfile.of(living);
+            ElementType attack = profile.getAttackElement();
 
             if (attack != null && attack != ElementType.NONE) {
                 ChatFormatting c = attack.getColor();
@@ -62,7 +60,7 @@ public class JadePlugin implements IWailaPlugin {
 
             for (ElementType t : ElementType.values()) {
                 if (t == ElementType.NONE) continue;
-                int val = ElementUtils.getDisplayEnhancement(living, t);
+                int val = profile.getEnhancement(t);
                 if (val > 0) {
                     totalEnhance = val;
                     enhanceType = t;
@@ -87,7 +85,7 @@ public class JadePlugin implements IWailaPlugin {
             for (ElementType t : ElementType.values()) {
                 if (t == ElementType.NONE) continue;
 
-                int val = ElementUtils.getDisplayResistance(living, t);
+                int val = profile.getResistance(t);
                 if (val <= 0) continue;
 
                 ChatFormatting c = t.getColor();
@@ -108,11 +106,8 @@ public class JadePlugin implements IWailaPlugin {
 
             Player player = accessor.getPlayer();
             if (player != null) {
-                ElementType playerAttack = ElementUtils.getAttackElement(player.getMainHandItem());
-                if (playerAttack == ElementType.NONE) {
-                    playerAttack = ElementUtils.getAttackElement(player.getOffhandItem());
-                }
-                ElementType targetElement = ElementUtils.getElementType(living);
+                ElementType playerAttack = ElementProfile.of(player).getAttackElement();
+                ElementType targetElement = profile.getDominantElement();
 
                 if (playerAttack != null && playerAttack != ElementType.NONE && targetElement != ElementType.NONE) {
                     float multiplier = ElementalConfig.getRestraintMultiplier(playerAttack, targetElement);
@@ -0,0 +1,325 @@
+package com.xulai.elementalcraft.capability;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.config.ElementalThunderFrostReactionsConfig;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.CapabilityToken;
+import net.minecraftforge.common.capabilities.RegisterCapabilitiesEvent;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * 实体元素状态 / Typed per-entity elemental status.
+ * <p>
+ * 取代原先散落在 getPersistentData() 里的字符串键：潮湿、静电、麻痹、灼烧、蒸汽、孢子及各类冷却都以基本类型字段保存，
+ * 处理器直接读写字段，只有存档时才序列化为 NBT。旧存档中的字符串键在实体进入世界时一次性迁移并删除。
+ * 持续时间与冷却统一保存为绝对游戏时间（截止 tick），到期回调由 {@code ElementalTimers} 负责。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class ElementalStatus {
+
+    public static final Capability<ElementalStatus> CAPABILITY = CapabilityManager.get(new CapabilityToken<>() {});
+    public static final ResourceLocation ID = new ResourceLocation(ElementalCraft.MODID, "elemental_status");
+
+    // ==================== 潮湿 ====================
+    // wetnessTracked 对应旧版 "EC_WetnessLevel" 键是否存在：未记录时会从潮湿药水效果同步
+    private boolean wetnessTracked;
+    private int wetness;
+    public int wetnessRainTimer;
+    public int wetnessDecayTimer;
+    public int wetnessFireStandTimer;
+    public float lastExhaustion;
+
+    // ==================== 静电 / 麻痹 ====================
+    public boolean staticActive;
+    public int staticStacks;
+    public long staticEnd;
+    public long staticNextDamageTick;
+    public boolean staticFromSpread;
+
+    public int paralysisStacks;
+    public long paralysisEnd;
+    public long paralysisSpreadReadyTick;
+    public boolean paralysisHasSpread;
+    public boolean aiDisabled;
+    public boolean originalNoAi;
+
+    // ==================== 灼烧 ====================
+    public boolean scorchedActive;
+    public long scorchedEnd;
+    public int scorchedStrength;
+    public int scorchedSourceFirePower;
+    public long scorchedAttackerCooldownEnd;
+
+    // ==================== 蒸汽 / 孢子 ====================
+    public long steamAttackerCooldownEnd;
+    public boolean steamBlindness;
+    public int condensationTimer;
+    public int sporeGrowthTimer;
+
+    public long drainCooldownEnd;
+    public long wildfireCooldownEnd;
+    public boolean sporeSpreaded;
+    public boolean sporeInfected;
+
+    // ==================== 战斗 ====================
+    public long lastSelfDryTick;
+    public long natureAttackCooldownEnd;
+    public boolean selfDryingPenalty;
+
+    /**
+     * 获取实体的元素状态；实体已移除（能力失效）时返回一个不会被保存的临时实例。
+     * Returns the entity's status, or a detached instance once its capabilities were invalidated.
+     */
+    public static ElementalStatus get(LivingEntity entity) {
+        return entity.getCapability(CAPABILITY).orElseGet(ElementalStatus::new);
+    }
+
+    public boolean isWetnessTracked() {
+        return wetnessTracked;
+    }
+
+    public int getWetness() {
+        return wetness;
+    }
+
+    public void setWetness(int level) {
+        this.wetness = level;
+        this.wetnessTracked = true;
+    }
+
+    public void clearWetness() {
+        wetnessTracked = false;
+        wetness = 0;
+        wetnessRainTimer = 0;
+        wetnessDecayTimer = 0;
+        wetnessFireStandTimer = 0;
+    }
+
+    /**
+     * 静电剩余 tick 数；未处于静电状态时为 0。
+     */
+    public int getStaticRemaining(long gameTime) {
+        return staticActive ? (int) Math.max(0L, staticEnd - gameTime) : 0;
+    }
+
+    /**
+     * 灼烧剩余 tick 数；未处于灼烧状态时为 0。
+     */
+    public int getScorchedRemaining(long gameTime) {
+        return scorchedActive ? (int) Math.max(0L, scorchedEnd - gameTime) : 0;
+    }
+
+    public void clearStatic() {
+        staticActive = false;
+        staticStacks = 0;
+        staticEnd = 0L;
+        staticNextDamageTick = 0L;
+        staticFromSpread = false;
+    }
+
+    public void clearScorched() {
+        scorchedActive = false;
+        scorchedEnd = 0L;
+        scorchedStrength = 0;
+        scorchedSourceFirePower = 0;
+    }
+
+    public CompoundTag serializeNBT() {
+        CompoundTag tag = new CompoundTag();
+        if (wetnessTracked) tag.putInt("Wetness", wetness);
+        putIfSet(tag, "WetRain", wetnessRainTimer);
+        putIfSet(tag, "WetDecay", wetnessDecayTimer);
+        putIfSet(tag, "WetFireStand", wetnessFireStandTimer);
+        if (lastExhaustion != 0.0f) tag.putFloat("LastExhaustion", lastExhaustion);
+
+        if (staticActive) {
+            tag.putInt("StaticStacks", staticStacks);
+            tag.putLong("StaticEnd", staticEnd);
+            tag.putLong("StaticNextDamage", staticNextDamageTick);
+            tag.putBoolean("StaticFromSpread", staticFromSpread);
+        }
+        putIfSet(tag, "ParalysisStacks", paralysisStacks);
+        putIfSet(tag, "ParalysisEnd", paralysisEnd);
+        putIfSet(tag, "ParalysisSpreadReady", paralysisSpreadReadyTick);
+        if (paralysisHasSpread) tag.putBoolean("ParalysisHasSpread", true);
+        if (aiDisabled) {
+            tag.putBoolean("AIDisabled", true);
+            tag.putBoolean("OriginalNoAI", originalNoAi);
+        }
+
+        if (scorchedActive) {
+            tag.putLong("ScorchedEnd", scorchedEnd);
+            tag.putInt("ScorchedStrength", scorchedStrength);
+            tag.putInt("ScorchedSourcePower", scorchedSourceFirePower);
+        }
+        putIfSet(tag, "ScorchedAttackerCd", scorchedAttackerCooldownEnd);
+
+        putIfSet(tag, "SteamAttackerCd", steamAttackerCooldownEnd);
+        if (steamBlindness) tag.putBoolean("SteamBlindness", true);
+        putIfSet(tag, "Condensation", condensationTimer);
+        putIfSet(tag, "SporeGrowth", sporeGrowthTimer);
+
+        putIfSet(tag, "DrainCd", drainCooldownEnd);
+        putIfSet(tag, "WildfireCd", wildfireCooldownEnd);
+        if (sporeSpreaded) tag.putBoolean("SporeSpreaded", true);
+        if (sporeInfected) tag.putBoolean("SporeInfected", true);
+
+        putIfSet(tag, "LastSelfDry", lastSelfDryTick);
+        putIfSet(tag, "NatureAttackCd", natureAttackCooldownEnd);
+        if (selfDryingPenalty) tag.putBoolean("SelfDryingPenalty", true);
+        return tag;
+    }
+
+    public void deserializeNBT(CompoundTag tag) {
+        wetnessTracked = tag.contains("Wetness");
+        wetness = tag.getInt("Wetness");
+        wetnessRainTimer = tag.getInt("WetRain");
+        wetnessDecayTimer = tag.getInt("WetDecay");
+        wetnessFireStandTimer = tag.getInt("WetFireStand");
+        lastExhaustion = tag.getFloat("LastExhaustion");
+
+        staticActive = tag.contains("StaticStacks");
+        staticStacks = tag.getInt("StaticStacks");
+        staticEnd = tag.getLong("StaticEnd");
+        staticNextDamageTick = tag.getLong("StaticNextDamage");
+        staticFromSpread = tag.getBoolean("StaticFromSpread");
+        paralysisStacks = tag.getInt("ParalysisStacks");
+        paralysisEnd = tag.getLong("ParalysisEnd");
+        paralysisSpreadReadyTick = tag.getLong("ParalysisSpreadReady");
+        paralysisHasSpread = tag.getBoolean("ParalysisHasSpread");
+        aiDisabled = tag.getBoolean("AIDisabled");
+        originalNoAi = tag.getBoolean("OriginalNoAI");
+
+        scorchedActive = tag.contains("ScorchedEnd");
+        scorchedEnd = tag.getLong("ScorchedEnd");
+        scorchedStrength = tag.getInt("ScorchedStrength");
+        scorchedSourceFirePower = tag.getInt("ScorchedSourcePower");
+        scorchedAttackerCooldownEnd = tag.getLong("ScorchedAttackerCd");
+
+        steamAttackerCooldownEnd = tag.getLong("SteamAttackerCd");
+        steamBlindness = tag.getBoolean("SteamBlindness");
+        condensationTimer = tag.getInt("Condensation");
+        sporeGrowthTimer = tag.getInt("SporeGrowth");
+
+        drainCooldownEnd = tag.getLong("DrainCd");
+        wildfireCooldownEnd = tag.getLong("WildfireCd");
+        sporeSpreaded = tag.getBoolean("SporeSpreaded");
+        sporeInfected = tag.getBoolean("SporeInfected");
+
+        lastSelfDryTick = tag.getLong("LastSelfDry");
+        natureAttackCooldownEnd = tag.getLong("NatureAttackCd");
+        selfDryingPenalty = tag.getBoolean("SelfDryingPenalty");
+    }
+
+    private static void putIfSet(CompoundTag tag, String key, int value) {
+        if (value != 0) tag.putInt(key, value);
+    }
+
+    private static void putIfSet(CompoundTag tag, String key, long value) {
+        if (value != 0L) tag.putLong(key, value);
+    }
+
+    // ==================== 旧版 NBT 迁移 ====================
+
+    private static final String[] LEGACY_KEYS = {
+            "EC_WetnessLevel", "EC_WetnessRainTimer", "EC_WetnessDecayTimer", "EC_WetnessFireStandTimer", "EC_LastExhaustion",
+            "ec_static_stacks", "ec_static_timer", "ec_static_damage_timer", "ec_from_spread",
+            "ec_paralysis_stacks", "ec_paralysis_timer", "EC_ParalysisStacks", "EC_ParalysisTimer",
+            "EC_ParalysisSpreadCooldown", "EC_HasSpreadStatic", "EC_OriginalNoAI", "EC_AIDisabled",
+            "ec_scorched_ticks", "ec_scorched_str", "EC_ScorchedSourceFirePower", "ec_scorched_attacker_cd",
+            "EC_SteamAttackerCooldown", "EC_SteamBlindness", "EC_SteamCondensationTimer", "EC_SporeGrowthTimer",
+            "ec_drain_cd", "ec_wildfire_cd", "ec_spreaded", "ec_infected",
+            "EC_LastSelfDryTick", "EC_NatureAttackCooldown", "EC_SelfDryingPenalty"
+    };
+
+    /**
+     * 从旧版 persistentData 字符串键读取状态并删除这些键；旧版逐 tick 递减的计时器换算为以 gameTime 为起点的截止时间。
+     */
+    private void migrateLegacy(CompoundTag data, long gameTime) {
+        if (data.contains("EC_WetnessLevel")) setWetness(data.getInt("EC_WetnessLevel"));
+        wetnessRainTimer = data.getInt("EC_WetnessRainTimer");
+        wetnessDecayTimer = data.getInt("EC_WetnessDecayTimer");
+        wetnessFireStandTimer = data.getInt("EC_WetnessFireStandTimer");
+        lastExhaustion = data.getFloat("EC_LastExhaustion");
+
+        staticActive = data.contains("ec_static_stacks");
+        staticStacks = data.getInt("ec_static_stacks");
+        if (staticActive) {
+            int interval = Math.max(1, ElementalThunderFrostReactionsConfig.staticDamageIntervalTicks);
+            staticEnd = gameTime + data.getInt("ec_static_timer");
+            staticNextDamageTick = gameTime + Math.max(1, interval - data.getInt("ec_static_damage_timer"));
+        }
+        staticFromSpread = data.getBoolean("ec_from_spread");
+        paralysisStacks = Math.max(data.getInt("ec_paralysis_stacks"), data.getInt("EC_ParalysisStacks"));
+        int paralysisTimer = Math.max(data.getInt("ec_paralysis_timer"), data.getInt("EC_ParalysisTimer"));
+        paralysisEnd = paralysisTimer > 0 ? gameTime + paralysisTimer : 0L;
+        int spreadCooldown = data.getInt("EC_ParalysisSpreadCooldown");
+        paralysisSpreadReadyTick = spreadCooldown > 0 ? gameTime + spreadCooldown : 0L;
+        paralysisHasSpread = data.getBoolean("EC_HasSpreadStatic");
+        aiDisabled = data.getBoolean("EC_AIDisabled");
+        originalNoAi = data.getBoolean("EC_OriginalNoAI");
+
+        scorchedActive = data.contains("ec_scorched_ticks");
+        scorchedEnd = scorchedActive ? gameTime + data.getInt("ec_scorched_ticks") : 0L;
+        scorchedStrength = data.getInt("ec_scorched_str");
+        scorchedSourceFirePower = data.getInt("EC_ScorchedSourceFirePower");
+        scorchedAttackerCooldownEnd = data.getLong("ec_scorched_attacker_cd");
+
+        steamAttackerCooldownEnd = data.contains("EC_SteamAttackerCooldown")
+                ? gameTime + data.getInt("EC_SteamAttackerCooldown") + 1 : 0L;
+        steamBlindness = data.contains("EC_SteamBlindness");
+        condensationTimer = data.getInt("EC_SteamCondensationTimer");
+        sporeGrowthTimer = data.getInt("EC_SporeGrowthTimer");
+
+        drainCooldownEnd = data.getLong("ec_drain_cd");
+        wildfireCooldownEnd = data.getLong("ec_wildfire_cd");
+        sporeSpreaded = data.getBoolean("ec_spreaded");
+        sporeInfected = data.getBoolean("ec_infected");
+
+        lastSelfDryTick = data.getLong("EC_LastSelfDryTick");
+        natureAttackCooldownEnd = data.getLong("EC_NatureAttackCooldown");
+        selfDryingPenalty = data.getInt("EC_SelfDryingPenalty") != 0;
+
+        for (String key : LEGACY_KEYS) {
+            data.remove(key);
+        }
+    }
+
+    private static boolean hasLegacyData(CompoundTag data) {
+        for (String key : LEGACY_KEYS) {
+            if (data.contains(key)) return true;
+        }
+        return false;
+    }
+
+    // ==================== 注册 ====================
+
+    public static void register(RegisterCapabilitiesEvent event) {
+        event.register(ElementalStatus.class);
+    }
+
+    @SubscribeEvent
+    public static void onAttachCapabilities(AttachCapabilitiesEvent<Entity> event) {
+        if (!(event.getObject() instanceof LivingEntity)) return;
+        ElementalStatusProvider provider = new ElementalStatusProvider();
+        event.addCapability(ID, provider);
+        event.addListener(provider::invalidate);
+    }
+
+    @SubscribeEvent
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (event.getLevel().isClientSide) return;
+        if (!(event.getEntity() instanceof LivingEntity living)) return;
+        CompoundTag data = living.getPersistentData();
+        if (data.isEmpty() || !hasLegacyData(data)) return;
+        get(living).migrateLegacy(data, event.getLevel().getGameTime());
+    }
+}
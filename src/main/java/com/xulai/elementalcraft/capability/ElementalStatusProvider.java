@@ -0,0 +1,37 @@
+package com.xulai.elementalcraft.capability;
+
+import net.minecraft.core.Direction;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+import net.minecraftforge.common.util.LazyOptional;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 元素状态能力提供者 / Capability provider attached to every LivingEntity.
+ */
+public class ElementalStatusProvider implements ICapabilitySerializable<CompoundTag> {
+
+    private final ElementalStatus status = new ElementalStatus();
+    private final LazyOptional<ElementalStatus> optional = LazyOptional.of(() -> status);
+
+    @Override
+    public @NotNull <T> LazyOptional<T> getCapability(@NotNull Capability<T> cap, @Nullable Direction side) {
+        return ElementalStatus.CAPABILITY.orEmpty(cap, optional);
+    }
+
+    @Override
+    public CompoundTag serializeNBT() {
+        return status.serializeNBT();
+    }
+
+    @Override
+    public void deserializeNBT(CompoundTag tag) {
+        status.deserializeNBT(tag);
+    }
+
+    void invalidate() {
+        optional.invalidate();
+    }
+}
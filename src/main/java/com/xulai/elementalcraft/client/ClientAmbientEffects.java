@@ -0,0 +1,89 @@
+package com.xulai.elementalcraft.client;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.network.SporeAmbientPacket;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.particles.ParticleTypes;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+/**
+ * 客户端环境粒子 / Client-side ambient particles for entities carrying flammable spores.
+ * <p>
+ * 原先由孢子效果每 2 tick 在服务端广播粒子包；现在由 {@link SporeAmbientPacket} 同步状态后在本地生成，
+ * 并计入优先级最低的环境粒子预算，粒子引擎接近饱和时最先被丢弃。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID, value = Dist.CLIENT)
+public final class ClientAmbientEffects {
+
+    private static final int SPORE_INTERVAL = 2;
+    private static final float SPORE_CHANCE = 0.4f;
+    private static final float SPORE_EFFECT_CHANCE = 0.05f;
+
+    private static final IntSet SPORE_ENTITIES = new IntOpenHashSet();
+    private static final RandomSource RANDOM = RandomSource.create();
+
+    private ClientAmbientEffects() {
+    }
+
+    public static void handle(SporeAmbientPacket packet) {
+        if (packet.active()) {
+            SPORE_ENTITIES.add(packet.entityId());
+        } else {
+            SPORE_ENTITIES.remove(packet.entityId());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || SPORE_ENTITIES.isEmpty()) return;
+        Minecraft minecraft = Minecraft.getInstance();
+        ClientLevel level = minecraft.level;
+        if (level == null || minecraft.isPaused()) return;
+        if (level.getGameTime() % SPORE_INTERVAL != 0) return;
+
+        IntIterator iterator = SPORE_ENTITIES.iterator();
+        while (iterator.hasNext()) {
+            Entity entity = level.getEntity(iterator.nextInt());
+            if (entity == null || entity.isRemoved()) {
+                iterator.remove();
+                continue;
+            }
+            if (ParticleBudget.isExhausted(ParticleBudget.Category.AMBIENT) || RANDOM.nextFloat() >= SPORE_CHANCE) continue;
+
+            float lod = ParticleBudget.lod(entity);
+            double x = entity.getX() + (RANDOM.nextDouble() - 0.5) * entity.getBbWidth() * 1.2;
+            double y = entity.getY() + RANDOM.nextDouble() * entity.getBbHeight();
+            double z = entity.getZ() + (RANDOM.nextDouble() - 0.5) * entity.getBbWidth() * 1.2;
+            ParticleBudget.addParticle(level, ParticleBudget.Category.AMBIENT, lod, ParticleTypes.SPORE_BLOSSOM_AIR,
+                    x, y, z, 0, 0, 0);
+            if (RANDOM.nextFloat() < SPORE_EFFECT_CHANCE) {
+                // ENTITY_EFFECT 的速度参数即颜色
+                ParticleBudget.addParticle(level, ParticleBudget.Category.AMBIENT, lod, ParticleTypes.ENTITY_EFFECT,
+                        x, y, z, 0.2, 0.9, 0.2);
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel().isClientSide()) {
+            SPORE_ENTITIES.clear();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        SPORE_ENTITIES.clear();
+    }
+}
@@ -0,0 +1,125 @@
+package com.xulai.elementalcraft.client;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.config.ElementalVisualConfig;
+import com.xulai.elementalcraft.network.TrailPacket;
+import com.xulai.elementalcraft.util.ElementType;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.projectile.Projectile;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Iterator;
+
+/**
+ * 客户端拖尾 / Client-side synthesis of elemental projectile trails from {@link TrailPacket} descriptors.
+ * <p>
+ * 收到开始描述后，每个客户端 tick 由对应属性的拖尾发射器在本地生成粒子，直到收到停止描述或投射物被移除。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID, value = Dist.CLIENT)
+public final class ClientTrailManager {
+
+    // 开始描述在实体生成包之后发送，正常情况下实体已存在；找不到实体时最多等待这么多 tick
+    private static final int MISSING_ENTITY_GRACE_TICKS = 20;
+
+    private static final Int2ObjectMap<Trail> TRAILS = new Int2ObjectOpenHashMap<>();
+    private static long clientTicks;
+    private static boolean configMismatchReported;
+
+    private ClientTrailManager() {
+    }
+
+    private static final class Trail {
+        private final ElementType element;
+        private final int tier;
+        private final int baseElapsed;
+        private final long startTick;
+        private final RandomSource random;
+
+        private Trail(TrailPacket packet, long startTick) {
+            this.element = packet.element();
+            this.tier = packet.tier();
+            this.baseElapsed = packet.elapsed();
+            this.startTick = startTick;
+            this.random = RandomSource.create(packet.seed());
+        }
+    }
+
+    public static void handle(TrailPacket packet) {
+        if (!packet.start()) {
+            TRAILS.remove(packet.entityId());
+            return;
+        }
+        if (packet.configHash() != ElementalVisualConfig.rangedTrailConfigHash && !configMismatchReported) {
+            configMismatchReported = true;
+            ElementalCraft.LOGGER.info("[ElementalCraft] Server ranged trail visual config differs from the local one; trails use local settings.");
+        }
+        TRAILS.put(packet.entityId(), new Trail(packet, clientTicks));
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) return;
+        Minecraft minecraft = Minecraft.getInstance();
+        ClientLevel level = minecraft.level;
+        if (level == null || minecraft.isPaused()) return;
+
+        clientTicks++;
+        if (TRAILS.isEmpty()) return;
+
+        Vec3 camera = minecraft.gameRenderer.getMainCamera().getPosition();
+        double thresholdSq = -1;
+        if (ElementalVisualConfig.globalVisibilityCheckEnabled) {
+            double threshold = minecraft.options.getEffectiveRenderDistance() * 16 * ElementalVisualConfig.globalViewDistanceMultiplier;
+            thresholdSq = threshold * threshold;
+        }
+
+        Iterator<Int2ObjectMap.Entry<Trail>> iterator = TRAILS.int2ObjectEntrySet().iterator();
+        while (iterator.hasNext()) {
+            Int2ObjectMap.Entry<Trail> entry = iterator.next();
+            Trail trail = entry.getValue();
+            Entity entity = level.getEntity(entry.getIntKey());
+            if (entity == null) {
+                if (clientTicks - trail.startTick > MISSING_ENTITY_GRACE_TICKS) {
+                    iterator.remove();
+                }
+                continue;
+            }
+            if (!(entity instanceof Projectile projectile) || projectile.isRemoved()) {
+                iterator.remove();
+                continue;
+            }
+
+            TrailEmitters.TrailEmitter emitter = TrailEmitters.get(trail.element);
+            // 预算耗尽后仍继续遍历，以便清理已移除的投射物
+            if (emitter == null || ParticleBudget.isExhausted(ParticleBudget.Category.TRAIL)) continue;
+            if (thresholdSq >= 0 && projectile.distanceToSqr(camera) > thresholdSq) continue;
+
+            int elapsed = trail.baseElapsed + (int) (clientTicks - trail.startTick);
+            emitter.emit(level, projectile, trail.tier, elapsed, trail.random);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel().isClientSide()) {
+            TRAILS.clear();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        TRAILS.clear();
+        configMismatchReported = false;
+    }
+}
@@ -1,5 +1,6 @@
 package com.xulai.elementalcraft.client;
 
+import com.xulai.elementalcraft.config.ElementalVisualConfig;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.particle.Particle;
 import net.minecraft.client.particle.ParticleProvider;
@@ -10,11 +11,17 @@ import net.minecraft.core.particles.SimpleParticleType;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
 @OnlyIn(Dist.CLIENT)
 public class ExtendedElectricSparkParticle extends TextureSheetParticle {
 
+    private static final int DEFAULT_LIFETIME = 60;
+
     private final SpriteSet sprites;
-    private final float startSize;
+    private final Pool pool;
+    private float startSize;
 
     protected ExtendedElectricSparkParticle(
             ClientLevel level,
@@ -22,14 +29,7 @@ public class ExtendedElectricSparkParticle extends TextureSheetParticle {
             double xSpeed, double ySpeed, double zSpeed,
             SpriteSet sprites) {
 
-        super(level, x, y, z, xSpeed, ySpeed, zSpeed);
-
-        this.sprites = sprites;
-        this.hasPhysics = false;
-        this.gravity = 0;
-        this.lifetime = 60;                  
-        this.startSize = this.quadSize;
-        this.pickSprite(sprites);
+        this(level, x, y, z, xSpeed, ySpeed, zSpeed, sprites, DEFAULT_LIFETIME);
     }
 
     protected ExtendedElectricSparkParticle(
@@ -39,9 +39,21 @@ public class ExtendedElectricSparkParticle extends TextureSheetParticle {
             SpriteSet sprites,
             int lifetime) {
 
+        this(level, x, y, z, xSpeed, ySpeed, zSpeed, sprites, lifetime, null);
+    }
+
+    private ExtendedElectricSparkParticle(
+            ClientLevel level,
+            double x, double y, double z,
+            double xSpeed, double ySpeed, double zSpeed,
+            SpriteSet sprites,
+            int lifetime,
+            Pool pool) {
+
         super(level, x, y, z, xSpeed, ySpeed, zSpeed);
 
         this.sprites = sprites;
+        this.pool = pool;
         this.hasPhysics = false;
         this.gravity = 0;
         this.lifetime = lifetime;
@@ -49,6 +61,32 @@ public class ExtendedElectricSparkParticle extends TextureSheetParticle {
         this.pickSprite(sprites);
     }
 
+    /**
+     * 回收复用时重置为与新建实例相同的初始状态（位置、寿命、尺寸、颜色、贴图）。
+     * 火花不移动，速度只做记录。
+     */
+    private void reset(double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int lifetime) {
+        this.removed = false;
+        this.age = 0;
+        this.lifetime = lifetime;
+        this.setPos(x, y, z);
+        this.xo = x;
+        this.yo = y;
+        this.zo = z;
+        this.xd = xSpeed;
+        this.yd = ySpeed;
+        this.zd = zSpeed;
+        this.roll = 0;
+        this.oRoll = 0;
+        this.alpha = 1.0f;
+        this.rCol = 1.0f;
+        this.gCol = 1.0f;
+        this.bCol = 1.0f;
+        this.quadSize = 0.1f * (this.random.nextFloat() * 0.5f + 0.5f) * 2.0f;
+        this.startSize = this.quadSize;
+        this.pickSprite(sprites);
+    }
+
     @Override
     public ParticleRenderType getRenderType() {
         return ParticleRenderType.PARTICLE_SHEET_TRANSLUCENT;
@@ -62,6 +100,10 @@ public class ExtendedElectricSparkParticle extends TextureSheetParticle {
 
         if (this.age++ >= this.lifetime) {
             this.remove();
+            // 粒子引擎在本次 tick 返回后才将其移出队列，池要到下一个 tick 才会复用它
+            if (pool != null) {
+                pool.release(this);
+            }
             return;
         }
 
@@ -88,10 +130,91 @@ public class ExtendedElectricSparkParticle extends TextureSheetParticle {
         return 0xF000F0;
     }
 
+    /**
+     * 火花回收池 / Recycling pool for spark instances, owned by a particle provider.
+     * <p>
+     * 只回收寿命自然结束的火花；释放的实例先进入暂存队列，到下一个 tick（粒子引擎已将其移出队列）才可再次取出。
+     * 存活数按生成时记录的到期 tick 分桶统计、到期自动扣除，不依赖释放：被粒子引擎挤出队列或因资源重载清空的火花
+     * 最迟在原定寿命结束后不再占用名额。存活数达到 {@link ElementalVisualConfig#thunderSparkLiveCap} 时不再生成新火花。
+     */
+    static final class Pool {
+        // 到期分桶窗口，须大于最长寿命（DEFAULT_LIFETIME + 1）
+        private static final int EXPIRY_WINDOW = 128;
+
+        private final ArrayDeque<ExtendedElectricSparkParticle> free = new ArrayDeque<>();
+        private final ArrayDeque<ExtendedElectricSparkParticle> released = new ArrayDeque<>();
+        private final int[] expiring = new int[EXPIRY_WINDOW];
+        private ClientLevel level;
+        private long time;
+        private int live;
+
+        /**
+         * 推进到世界当前时间：扣除已到期的存活数，并把上一 tick 及更早释放的实例移入可用队列。
+         */
+        private void advance(ClientLevel level) {
+            long now = level.getGameTime();
+            if (level != this.level) {
+                free.clear();
+                released.clear();
+                Arrays.fill(expiring, 0);
+                live = 0;
+                this.level = level;
+                time = now;
+                return;
+            }
+            // 服务端同步可能使时间回退，此时等待追上即可
+            if (now <= time) return;
+
+            if (now - time >= EXPIRY_WINDOW) {
+                Arrays.fill(expiring, 0);
+                live = 0;
+            } else {
+                for (long t = time + 1; t <= now; t++) {
+                    int slot = (int) (t % EXPIRY_WINDOW);
+                    live -= expiring[slot];
+                    expiring[slot] = 0;
+                }
+            }
+            time = now;
+
+            while (!released.isEmpty() && free.size() < ElementalVisualConfig.thunderSparkLiveCap) {
+                free.push(released.poll());
+            }
+            released.clear();
+        }
+
+        private ExtendedElectricSparkParticle acquire(ClientLevel level, SpriteSet sprites,
+                                                      double x, double y, double z,
+                                                      double xSpeed, double ySpeed, double zSpeed, int lifetime) {
+            advance(level);
+            if (live >= ElementalVisualConfig.thunderSparkLiveCap) {
+                return null;
+            }
+
+            live++;
+            expiring[(int) ((time + Math.min(lifetime + 1, EXPIRY_WINDOW - 1)) % EXPIRY_WINDOW)]++;
+            ExtendedElectricSparkParticle particle = free.poll();
+            if (particle == null) {
+                return new ExtendedElectricSparkParticle(level, x, y, z, xSpeed, ySpeed, zSpeed, sprites, lifetime, this);
+            }
+            particle.reset(x, y, z, xSpeed, ySpeed, zSpeed, lifetime);
+            return particle;
+        }
+
+        private void release(ExtendedElectricSparkParticle particle) {
+            // 旧世界的实例直接丢弃
+            if (particle.level != level) return;
+            if (free.size() + released.size() < ElementalVisualConfig.thunderSparkLiveCap) {
+                released.push(particle);
+            }
+        }
+    }
+
     @OnlyIn(Dist.CLIENT)
     public static class Factory implements ParticleProvider<SimpleParticleType> {
 
         private final SpriteSet sprites;
+        private final Pool pool = new Pool();
 
         public Factory(SpriteSet sprites) {
             this.sprites = sprites;
@@ -104,8 +227,7 @@ public class ExtendedElectricSparkParticle extends TextureSheetParticle {
                 double x, double y, double z,
                 double xSpeed, double ySpeed, double zSpeed) {
 
-            return new ExtendedElectricSparkParticle(
-                    level, x, y, z, xSpeed, ySpeed, zSpeed, sprites);
+            return pool.acquire(level, sprites, x, y, z, xSpeed, ySpeed, zSpeed, DEFAULT_LIFETIME);
         }
     }
 
@@ -113,6 +235,7 @@ public class ExtendedElectricSparkParticle extends TextureSheetParticle {
     public static class ShortLivedFactory implements ParticleProvider<SimpleParticleType> {
 
         private final SpriteSet sprites;
+        private final Pool pool = new Pool();
 
         public ShortLivedFactory(SpriteSet sprites) {
             this.sprites = sprites;
@@ -125,8 +248,7 @@ public class ExtendedElectricSparkParticle extends TextureSheetParticle {
                 double x, double y, double z,
                 double xSpeed, double ySpeed, double zSpeed) {
 
-            return new ExtendedElectricSparkParticle(
-                    level, x, y, z, xSpeed, ySpeed, zSpeed, sprites, 5 + level.random.nextInt(5));
+            return pool.acquire(level, sprites, x, y, z, xSpeed, ySpeed, zSpeed, 5 + level.random.nextInt(5));
         }
     }
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ public class ModParticles {
     @SubscribeEvent
     @OnlyIn(Dist.CLIENT)
     public static void registerParticleProviders(RegisterParticleProvidersEvent event) {
+        // 提供器持有火花回收池：寿命结束的实例被复用，存活数受配置上限约束
         event.registerSpriteSet(
                 THUNDER_SPARK_PERSISTENT.get(),
                 ExtendedElectricSparkParticle.Factory::new
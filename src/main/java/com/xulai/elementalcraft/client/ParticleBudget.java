@@ -0,0 +1,172 @@
+package com.xulai.elementalcraft.client;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.config.ElementalVisualConfig;
+import net.minecraft.client.Camera;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.CustomizeGuiOverlayEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.joml.Vector3f;
+
+/**
+ * 客户端粒子预算 / Per-tick particle budget and distance LOD for client-generated elemental particles.
+ * <p>
+ * 每个客户端 tick 为每类特效分配粒子上限；特效按与相机的距离和是否在视野内稀疏（远处或屏幕外的特效占据的屏幕面积小，
+ * 少量粒子即可表达）。粒子引擎中的存活粒子数接近饱和阈值时，优先级最低的环境粒子最先被丢弃，超过阈值后其余类别的预算也按比例缩减。
+ * 各类别的请求数、生成数与丢弃数显示在 F3 调试界面中。
+ * <p>
+ * 只管理由客户端本地生成的粒子（近战挥动、投射物拖尾、环境粒子）；服务端通过 sendParticles 下发的命中特效不经过此预算。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID, value = Dist.CLIENT)
+public final class ParticleBudget {
+
+    /**
+     * 特效类别，按优先级从高到低排列。
+     */
+    public enum Category {
+        MELEE("melee"),
+        TRAIL("trail"),
+        AMBIENT("ambient");
+
+        private final String label;
+
+        Category(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final Category[] CATEGORIES = Category.values();
+    // 屏幕外（相机背后）的特效保留的粒子比例
+    private static final float OFF_SCREEN_FACTOR = 0.2f;
+    // 超过饱和阈值后非环境类别预算的最低保留比例
+    private static final float MIN_SATURATED_SCALE = 0.25f;
+    // 存活粒子数达到阈值的这个比例时开始缩减环境粒子
+    private static final float AMBIENT_FADE_START = 0.75f;
+
+    private static final RandomSource RANDOM = RandomSource.create();
+
+    private static final int[] budget = new int[CATEGORIES.length];
+    private static final int[] requested = new int[CATEGORIES.length];
+    private static final int[] spawned = new int[CATEGORIES.length];
+    private static final int[] dropped = new int[CATEGORIES.length];
+    private static final int[] lastRequested = new int[CATEGORIES.length];
+    private static final int[] lastSpawned = new int[CATEGORIES.length];
+    private static final int[] lastDropped = new int[CATEGORIES.length];
+    private static int liveParticles;
+
+    private ParticleBudget() {
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.START) return;
+
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            lastRequested[i] = requested[i];
+            lastSpawned[i] = spawned[i];
+            lastDropped[i] = dropped[i];
+            requested[i] = 0;
+            spawned[i] = 0;
+            dropped[i] = 0;
+        }
+
+        Minecraft minecraft = Minecraft.getInstance();
+        liveParticles = minecraft.level != null ? parseCount(minecraft.particleEngine.countParticles()) : 0;
+
+        float load = (float) liveParticles / Math.max(1, ElementalVisualConfig.particleSaturationThreshold);
+        float scale = load < 1.0f ? 1.0f : Math.max(MIN_SATURATED_SCALE, 2.0f - load);
+        float ambientScale = Mth.clamp((1.0f - load) / (1.0f - AMBIENT_FADE_START), 0.0f, 1.0f);
+
+        budget[Category.MELEE.ordinal()] = (int) (ElementalVisualConfig.particleBudgetMelee * scale);
+        budget[Category.TRAIL.ordinal()] = (int) (ElementalVisualConfig.particleBudgetTrail * scale);
+        budget[Category.AMBIENT.ordinal()] = (int) (ElementalVisualConfig.particleBudgetAmbient * ambientScale);
+    }
+
+    private static int parseCount(String count) {
+        try {
+            return Integer.parseInt(count);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 实体位置处特效的细节比例，范围 (0, 1]。
+     */
+    public static float lod(Entity entity) {
+        return lod(entity.getX(), entity.getY(0.5), entity.getZ());
+    }
+
+    /**
+     * 细节比例：在完整细节距离内为 1，更远处与距离成反比（近似特效在屏幕上的投影尺寸），位于相机背后时再乘以屏幕外系数。
+     */
+    public static float lod(double x, double y, double z) {
+        if (!ElementalVisualConfig.particleBudgetEnabled) return 1.0f;
+        Camera camera = Minecraft.getInstance().gameRenderer.getMainCamera();
+        Vec3 eye = camera.getPosition();
+        double dx = x - eye.x;
+        double dy = y - eye.y;
+        double dz = z - eye.z;
+        double distSq = dx * dx + dy * dy + dz * dz;
+
+        double fullDetail = ElementalVisualConfig.particleLodFullDetailDistance;
+        float factor = distSq <= fullDetail * fullDetail ? 1.0f : (float) (fullDetail / Math.sqrt(distSq));
+
+        Vector3f look = camera.getLookVector();
+        if (dx * look.x() + dy * look.y() + dz * look.z() < 0) {
+            factor *= OFF_SCREEN_FACTOR;
+        }
+        return factor;
+    }
+
+    /**
+     * 按细节比例随机稀疏后，在类别预算内生成一个粒子；预算耗尽或被稀疏的粒子计入丢弃数。
+     */
+    public static void addParticle(Level level, Category category, float lod, ParticleOptions type,
+                                   double x, double y, double z, double vx, double vy, double vz) {
+        if (!ElementalVisualConfig.particleBudgetEnabled) {
+            level.addParticle(type, x, y, z, vx, vy, vz);
+            return;
+        }
+
+        int i = category.ordinal();
+        requested[i]++;
+        if ((lod < 1.0f && RANDOM.nextFloat() >= lod) || spawned[i] >= budget[i]) {
+            dropped[i]++;
+            return;
+        }
+        spawned[i]++;
+        level.addParticle(type, x, y, z, vx, vy, vz);
+    }
+
+    /**
+     * 类别预算是否已耗尽，供发射器在生成一组粒子前提前跳过计算。
+     */
+    public static boolean isExhausted(Category category) {
+        return ElementalVisualConfig.particleBudgetEnabled && spawned[category.ordinal()] >= budget[category.ordinal()];
+    }
+
+    @SubscribeEvent
+    public static void onDebugText(CustomizeGuiOverlayEvent.DebugText event) {
+        if (!ElementalVisualConfig.particleBudgetEnabled) return;
+
+        StringBuilder line = new StringBuilder("[ElementalCraft] Particles: ")
+                .append(liveParticles).append('/').append(ElementalVisualConfig.particleSaturationThreshold);
+        for (Category category : CATEGORIES) {
+            int i = category.ordinal();
+            line.append(" | ").append(category.label).append(' ')
+                    .append(lastSpawned[i]).append('/').append(lastRequested[i])
+                    .append(" (-").append(lastDropped[i]).append(", cap ").append(budget[i]).append(')');
+        }
+        event.getLeft().add(line.toString());
+    }
+}
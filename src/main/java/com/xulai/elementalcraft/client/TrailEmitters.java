@@ -0,0 +1,55 @@
+package com.xulai.elementalcraft.client;
+
+import com.xulai.elementalcraft.util.ElementType;
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.projectile.Projectile;
+import net.minecraft.world.level.Level;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 投射物拖尾发射器 / Client-side trail emitters for elemental projectiles.
+ * <p>
+ * 服务端的 {@link com.xulai.elementalcraft.event.ElementalProjectileTracker} 登记投射物并发送开始描述，
+ * {@link ClientTrailManager} 每 tick 按属性取出这里注册的发射器在本地生成拖尾粒子。
+ */
+public final class TrailEmitters {
+
+    /**
+     * 拖尾发射器：elapsed 为投射物登记以来经过的 tick 数，random 由描述中的种子创建。
+     */
+    @FunctionalInterface
+    public interface TrailEmitter {
+        void emit(Level level, Projectile projectile, int tier, int elapsed, RandomSource random);
+    }
+
+    private static final Map<ElementType, TrailEmitter> EMITTERS = new EnumMap<>(ElementType.class);
+
+    static {
+        register(ElementType.FIRE, FireVisuals::spawnFireHelixTrail);
+        register(ElementType.NATURE, NatureVisuals::spawnVineHelixTrail);
+        register(ElementType.THUNDER, ThunderVisuals::spawnHelixTrail);
+    }
+
+    private TrailEmitters() {
+    }
+
+    public static void register(ElementType type, TrailEmitter emitter) {
+        EMITTERS.put(type, emitter);
+    }
+
+    static TrailEmitter get(ElementType type) {
+        return EMITTERS.get(type);
+    }
+
+    /**
+     * 在同一位置生成 count 个静止粒子，与服务端 sendParticles(type, x, y, z, count, 0, 0, 0, 0) 的效果一致，计入拖尾粒子预算。
+     */
+    static void addParticles(Level level, float lod, ParticleOptions type, double x, double y, double z, int count) {
+        for (int i = 0; i < count; i++) {
+            ParticleBudget.addParticle(level, ParticleBudget.Category.TRAIL, lod, type, x, y, z, 0, 0, 0);
+        }
+    }
+}
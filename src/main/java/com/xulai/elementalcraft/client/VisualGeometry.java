@@ -0,0 +1,157 @@
+package com.xulai.elementalcraft.client;
+
+import com.xulai.elementalcraft.config.ElementalVisualConfig;
+
+/**
+ * 特效几何表 / Precomputed unit geometry for melee arcs and ranged helix rings.
+ * <p>
+ * 近战弧线与远程螺旋线的三角函数只依赖配置与等级，因此在 {@link ElementalVisualConfig#refreshCache()} 时按等级一次性算成 float 数组，
+ * 生成特效时只需用视线基向量做线性组合，不再逐点调用 sin/cos 或分配 Vec3。
+ * <p>
+ * 弧线表每个点占 {@link #ARC_STRIDE} 个元素：右向系数、前向系数、进度（0~1）。
+ * 螺旋环表每条螺旋线占 {@link #RING_STRIDE} 个元素：已乘以圆锥半径的 cos、sin 相位，旋转角由调用方每 tick 计算一次后代入
+ * {@link #ringRight} / {@link #ringUp}。
+ */
+public final class VisualGeometry {
+
+    public static final int MAX_TIER = 4;
+    public static final int ARC_STRIDE = 3;
+    public static final int RING_STRIDE = 2;
+
+    private static final float[] EMPTY = new float[0];
+
+    /**
+     * 一次重建得到的全部表；整体替换发布，读取方在一次特效生成内持有同一份引用。
+     */
+    public static final class Tables {
+        public final float[][] fireArc = new float[MAX_TIER + 1][];
+        public final float[][] natureArc = new float[MAX_TIER + 1][];
+        public final float[][] thunderArc = new float[MAX_TIER + 1][];
+        public final float[][] fireOuterRing = new float[MAX_TIER + 1][];
+        public final float[][] fireInnerRing = new float[MAX_TIER + 1][];
+        public final float[][] natureOuterRing = new float[MAX_TIER + 1][];
+        public final float[][] natureTailRing = new float[MAX_TIER + 1][];
+        public final float[][] thunderRing = new float[MAX_TIER + 1][];
+
+        private Tables() {
+        }
+    }
+
+    private static volatile Tables tables = new Tables();
+
+    static {
+        // 配置加载前的占位：所有等级为空表
+        Tables empty = tables;
+        for (int tier = 0; tier <= MAX_TIER; tier++) {
+            empty.fireArc[tier] = EMPTY;
+            empty.natureArc[tier] = EMPTY;
+            empty.thunderArc[tier] = EMPTY;
+            empty.fireOuterRing[tier] = EMPTY;
+            empty.fireInnerRing[tier] = EMPTY;
+            empty.natureOuterRing[tier] = EMPTY;
+            empty.natureTailRing[tier] = EMPTY;
+            empty.thunderRing[tier] = EMPTY;
+        }
+    }
+
+    private VisualGeometry() {
+    }
+
+    public static Tables get() {
+        return tables;
+    }
+
+    public static int clampTier(int tier) {
+        return Math.max(0, Math.min(MAX_TIER, tier));
+    }
+
+    /**
+     * 由 {@link ElementalVisualConfig#refreshCache()} 在缓存字段更新后调用。
+     */
+    public static void rebuild() {
+        Tables built = new Tables();
+        for (int tier = 0; tier <= MAX_TIER; tier++) {
+            built.fireArc[tier] = tier == 0 ? EMPTY : buildArc(tier,
+                    ElementalVisualConfig.fireMeleeRadius, ElementalVisualConfig.fireMeleeBaseAngleDegrees,
+                    ElementalVisualConfig.fireMeleeAngleMultiplierBase, ElementalVisualConfig.fireMeleeAngleMultiplierPerTier,
+                    ElementalVisualConfig.fireMeleeParticleCountBase, ElementalVisualConfig.fireMeleeParticleCountOffset,
+                    ElementalVisualConfig.fireMeleeWaveAmplitude, ElementalVisualConfig.fireMeleeWaveFrequency, 0.7);
+            built.natureArc[tier] = tier == 0 ? EMPTY : buildArc(tier,
+                    ElementalVisualConfig.natureMeleeRadius, ElementalVisualConfig.natureMeleeBaseAngleDegrees,
+                    ElementalVisualConfig.natureMeleeAngleMultiplierBase, ElementalVisualConfig.natureMeleeAngleMultiplierPerTier,
+                    ElementalVisualConfig.natureMeleeParticleCountBase, ElementalVisualConfig.natureMeleeParticleCountOffset,
+                    ElementalVisualConfig.natureMeleeWaveAmplitude, ElementalVisualConfig.natureMeleeWaveFrequency, 0.7);
+            built.thunderArc[tier] = tier == 0 ? EMPTY : buildArc(tier,
+                    ElementalVisualConfig.thunderMeleeRadius, ElementalVisualConfig.thunderMeleeBaseAngleDegrees,
+                    ElementalVisualConfig.thunderMeleeAngleMultiplierBase, ElementalVisualConfig.thunderMeleeAngleMultiplierPerTier,
+                    ElementalVisualConfig.thunderMeleeParticleCountBase, ElementalVisualConfig.thunderMeleeParticleCountOffset,
+                    0.0, 0.0, ElementalVisualConfig.thunderMeleeForwardOffsetFactor);
+
+            built.fireOuterRing[tier] = buildRing(tier * ElementalVisualConfig.fireRangedOuterHelixCountPerTier,
+                    ElementalVisualConfig.fireRangedConeMaxRadius);
+            built.fireInnerRing[tier] = buildRing(tier * ElementalVisualConfig.fireRangedInnerHelixCountPerTier,
+                    ElementalVisualConfig.fireRangedConeMaxRadius * ElementalVisualConfig.fireRangedInnerRadiusFactor);
+            built.natureOuterRing[tier] = buildRing(tier * ElementalVisualConfig.natureRangedOuterHelixCountPerTier,
+                    ElementalVisualConfig.natureRangedConeMaxRadius);
+            built.natureTailRing[tier] = buildRing(tier * ElementalVisualConfig.natureRangedTailHelixCountPerTier,
+                    ElementalVisualConfig.natureRangedConeMaxRadius * ElementalVisualConfig.natureRangedTailRadiusFactor);
+            built.thunderRing[tier] = buildRing(tier * ElementalVisualConfig.thunderRangedHelixCountPerTier,
+                    ElementalVisualConfig.thunderRangedConeMaxRadius);
+        }
+        tables = built;
+    }
+
+    /**
+     * 弧线从 +angle/2 扫到 -angle/2；波动项叠加在半径上，前向分量再乘以 forwardFactor。
+     */
+    private static float[] buildArc(int tier, double radius, double baseAngleDegrees, double multiplierBase,
+                                    double multiplierPerTier, int countBase, int countOffset,
+                                    double waveAmplitude, double waveFrequency, double forwardFactor) {
+        double angleMultiplier = multiplierBase + tier * multiplierPerTier;
+        double actualAngle = Math.toRadians(baseAngleDegrees) * angleMultiplier;
+        double startAngle = actualAngle / 2.0;
+        double endAngle = -actualAngle / 2.0;
+        int particleCount = Math.max(1, (int) (countBase * angleMultiplier) + countOffset);
+
+        float[] arc = new float[(particleCount + 1) * ARC_STRIDE];
+        for (int i = 0; i <= particleCount; i++) {
+            double progress = (double) i / particleCount;
+            double angle = startAngle + (endAngle - startAngle) * progress;
+            double r = radius + Math.sin(progress * Math.PI * waveFrequency) * waveAmplitude;
+            int o = i * ARC_STRIDE;
+            arc[o] = (float) (Math.sin(angle) * r);
+            arc[o + 1] = (float) (Math.cos(angle) * r * forwardFactor);
+            arc[o + 2] = (float) progress;
+        }
+        return arc;
+    }
+
+    private static float[] buildRing(int helices, double radius) {
+        if (helices <= 0) return EMPTY;
+        float[] ring = new float[helices * RING_STRIDE];
+        for (int h = 0; h < helices; h++) {
+            double phase = (2 * Math.PI * h) / helices;
+            ring[h * RING_STRIDE] = (float) (Math.cos(phase) * radius);
+            ring[h * RING_STRIDE + 1] = (float) (Math.sin(phase) * radius);
+        }
+        return ring;
+    }
+
+    public static int ringSize(float[] ring) {
+        return ring.length / RING_STRIDE;
+    }
+
+    /**
+     * 第 h 条螺旋线在整体旋转 (cos, sin) 后沿右向基向量的分量。
+     */
+    public static double ringRight(float[] ring, int h, double cos, double sin) {
+        return ring[h * RING_STRIDE] * cos - ring[h * RING_STRIDE + 1] * sin;
+    }
+
+    /**
+     * 第 h 条螺旋线在整体旋转 (cos, sin) 后沿上向基向量的分量。
+     */
+    public static double ringUp(float[] ring, int h, double cos, double sin) {
+        return ring[h * RING_STRIDE + 1] * cos + ring[h * RING_STRIDE] * sin;
+    }
+}
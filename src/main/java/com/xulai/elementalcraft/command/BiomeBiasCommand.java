@@ -5,6 +5,7 @@ import com.mojang.brigadier.arguments.DoubleArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import com.xulai.elementalcraft.config.ElementalConfig;
+import com.xulai.elementalcraft.util.BiomeAttributeBias;
 import com.xulai.elementalcraft.util.CustomBiomeBias;
 import com.xulai.elementalcraft.util.ElementType;
 import net.minecraft.commands.CommandSourceStack;
@@ -70,6 +71,9 @@ public class BiomeBiasCommand {
                                 .then(Commands.literal("list")
                                         .executes(BiomeBiasCommand::listBiomeBias)
                                 )
+                                .then(Commands.literal("chances")
+                                        .executes(BiomeBiasCommand::showChances)
+                                )
                         )
         );
     }
@@ -216,4 +220,34 @@ public class BiomeBiasCommand {
         }
         return relevant.size();
     }
+
+    /**
+     * 输出当前位置属性生物的实际属性概率（当前天气与雷暴两种情况），数据来自生成时使用的同一张别名表。
+     */
+    private static int showChances(CommandContext<CommandSourceStack> ctx) {
+        CommandSourceStack source = ctx.getSource();
+        ServerPlayer player = source.getPlayer();
+
+        if (player == null) {
+            source.sendFailure(Component.translatable("command.elementalcraft.player_only"));
+            return 0;
+        }
+
+        Holder<Biome> biomeHolder = player.serverLevel().getBiome(player.blockPosition());
+        boolean cold = BiomeAttributeBias.isCold(biomeHolder.value(), player.blockPosition());
+        BiomeAttributeBias.AliasTable clear = BiomeAttributeBias.getTable(biomeHolder, false, cold);
+        BiomeAttributeBias.AliasTable thunder = BiomeAttributeBias.getTable(biomeHolder, true, cold);
+
+        String biomeId = getCurrentBiomeId(player);
+        source.sendSuccess(() -> Component.translatable("command.elementalcraft.biomebias.chances_header", biomeId), false);
+        for (ElementType type : ElementType.values()) {
+            if (type == ElementType.NONE) continue;
+            // 翻译模板只支持 %s，百分比在服务端格式化后作为字符串传入
+            String clearChance = String.format("%.1f", clear.probability(type) * 100.0);
+            String thunderChance = String.format("%.1f", thunder.probability(type) * 100.0);
+            source.sendSuccess(() -> Component.translatable("command.elementalcraft.biomebias.chances_entry",
+                    type.getDisplayName(), clearChance, thunderChance), false);
+        }
+        return 1;
+    }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.xulai.elementalcraft.config;
 
 import com.xulai.elementalcraft.util.ElementType;
+import com.xulai.elementalcraft.util.EntityTypeBlacklist;
 import net.minecraftforge.common.ForgeConfigSpec;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -532,14 +534,15 @@ public final class ElementalConfig {
                         "列表中的实体永远不会获得元素属性。",
                         "全局生效：随机生成、下界/末地强制、以及 forced_entities 配置均被阻止。",
                         "",
-                        "Format: full entity ID in double quotes.",
-                        "格式：完整的实体 ID，用双引号包裹。",
+                        "Format: full entity ID in double quotes, or an entity tag prefixed with #.",
+                        "格式：完整的实体 ID，用双引号包裹；也可填写以 # 开头的实体标签。",
                         "",
                         "Examples / 示例：",
                         "  \"minecraft:creeper\"      - Creeper never gains attributes / 苦力怕永不获得属性",
                         "  \"minecraft:ghast\"        - Ghast never gains attributes / 恶魂永不获得属性",
                         "  \"minecraft:ender_dragon\" - Ender Dragon never gains attributes / 末影龙永不获得属性",
-                        "  \"minecraft:wither\"       - Wither never gains attributes / 凋灵永不获得属性")
+                        "  \"minecraft:wither\"       - Wither never gains attributes / 凋灵永不获得属性",
+                        "  \"#minecraft:raiders\"     - All raiders never gain attributes / 所有袭击者永不获得属性")
                 .defineListAllowEmpty("blacklisted_entities", List.of(), obj -> obj instanceof String);
 
         BUILDER.pop();
@@ -659,6 +662,14 @@ public final class ElementalConfig {
 
     public static List<? extends String> cachedRestraints = List.of();
     public static List<? extends String> cachedBlacklist = List.of();
+    public static EntityTypeBlacklist compiledBlacklist = EntityTypeBlacklist.EMPTY;
+
+    // 克制关系编译结果：[攻击元素][目标元素] -> 倍率，以及每个元素的克制者
+    private static volatile float[][] restraintMatrix = buildRestraintMatrix(List.of());
+    private static volatile ElementType[] counterElements = buildCounterElements(List.of());
+
+    // 缓存版本号，每次刷新配置后递增，供依赖配置的派生缓存判断是否过期
+    public static volatile int cacheVersion = 0;
 
     public static void refreshCache() {
         restraintMultiplier = RESTRAINT_MULTIPLIER.get();
@@ -695,6 +706,12 @@ public final class ElementalConfig {
 
         cachedRestraints = ELEMENT_RESTRAINTS.get();
         cachedBlacklist = BLACKLISTED_ENTITIES.get();
+        compiledBlacklist = EntityTypeBlacklist.compile(cachedBlacklist);
+
+        restraintMatrix = buildRestraintMatrix(cachedRestraints);
+        counterElements = buildCounterElements(cachedRestraints);
+
+        cacheVersion++;
     }
 
     public static int getStrengthPerHalfDamage() {
@@ -721,19 +738,66 @@ public final class ElementalConfig {
         if (attackElement == null || targetElement == null || targetElement == ElementType.NONE) {
             return 1.0f;
         }
+        return restraintMatrix[attackElement.ordinal()][targetElement.ordinal()];
+    }
+
+    /**
+     * 获取克制指定元素的元素（配置中第一条以其为受害方的规则），没有则返回 NONE。
+     */
+    public static ElementType getCounterElement(ElementType type) {
+        if (type == null) return ElementType.NONE;
+        return counterElements[type.ordinal()];
+    }
+
+    private static ElementType[] parseRestraint(String relation) {
+        if (relation == null) return null;
+        String[] split = relation.split("->");
+        if (split.length != 2) return null;
 
-        String relation = attackElement.getId() + "->" + targetElement.getId();
+        ElementType attacker = ElementType.fromId(split[0].trim().toLowerCase());
+        ElementType victim = ElementType.fromId(split[1].trim().toLowerCase());
+        if (attacker == null || victim == null || attacker == ElementType.NONE || victim == ElementType.NONE) {
+            return null;
+        }
+        return new ElementType[]{attacker, victim};
+    }
 
-        if (cachedRestraints.contains(relation)) {
-            return (float) restraintMultiplier;
+    private static float[][] buildRestraintMatrix(List<? extends String> restraints) {
+        int size = ElementType.values().length;
+        boolean[][] restrains = new boolean[size][size];
+        for (String relation : restraints) {
+            ElementType[] pair = parseRestraint(relation);
+            if (pair != null) {
+                restrains[pair[0].ordinal()][pair[1].ordinal()] = true;
+            }
         }
 
-        String reverse = targetElement.getId() + "->" + attackElement.getId();
-        if (cachedRestraints.contains(reverse)) {
-            return (float) weakMultiplier;
+        float[][] matrix = new float[size][size];
+        for (int a = 0; a < size; a++) {
+            for (int t = 0; t < size; t++) {
+                // 正向克制优先于反向被克
+                if (restrains[a][t]) {
+                    matrix[a][t] = (float) restraintMultiplier;
+                } else if (restrains[t][a]) {
+                    matrix[a][t] = (float) weakMultiplier;
+                } else {
+                    matrix[a][t] = 1.0f;
+                }
+            }
         }
+        return matrix;
+    }
 
-        return 1.0f;
+    private static ElementType[] buildCounterElements(List<? extends String> restraints) {
+        ElementType[] counters = new ElementType[ElementType.values().length];
+        Arrays.fill(counters, ElementType.NONE);
+        for (String relation : restraints) {
+            ElementType[] pair = parseRestraint(relation);
+            if (pair != null && counters[pair[1].ordinal()] == ElementType.NONE) {
+                counters[pair[1].ordinal()] = pair[0];
+            }
+        }
+        return counters;
     }
 
     private static int rollDynamicValue(double c1, double c2, double c3, int maxValue) {
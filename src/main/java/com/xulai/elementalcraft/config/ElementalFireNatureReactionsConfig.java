@@ -1,5 +1,6 @@
 package com.xulai.elementalcraft.config;
 
+import com.xulai.elementalcraft.util.EntityTypeBlacklist;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.config.ModConfig;
@@ -191,8 +192,8 @@ public class ElementalFireNatureReactionsConfig {
                         "Are entities in the Nether dimension naturally immune to Wetness?")
                 .define("nether_dimension_immune", true);
         WETNESS_ENTITY_BLACKLIST = BUILDER
-                .comment("潮湿效果免疫黑名单（填入实体ID）。",
-                        "Wetness immunity blacklist (Entity IDs).")
+                .comment("潮湿效果免疫黑名单（填入实体ID，或以 # 开头的实体标签，例如 #minecraft:skeletons）。",
+                        "Wetness immunity blacklist (Entity IDs, or entity tags prefixed with #, e.g. #minecraft:skeletons).")
                 .defineListAllowEmpty("wetness_entity_blacklist", List.of(), o -> o instanceof String);
         BUILDER.pop();
         BUILDER.pop();
@@ -310,8 +311,8 @@ public class ElementalFireNatureReactionsConfig {
                         "Fire Resistance points required to be completely immune to steam scalding.")
                 .defineInRange("steam_immunity_threshold", 80, 0, 1000);
         STEAM_IMMUNITY_BLACKLIST = BUILDER
-                .comment("蒸汽烫伤免疫黑名单（填入实体ID）。",
-                        "Steam scalding immunity blacklist (Entity IDs).")
+                .comment("蒸汽烫伤免疫黑名单（填入实体ID，或以 # 开头的实体标签）。",
+                        "Steam scalding immunity blacklist (Entity IDs, or entity tags prefixed with #).")
                 .defineListAllowEmpty("steam_immunity_blacklist", List.of(), o -> o instanceof String);
         BUILDER.pop();
 
@@ -418,8 +419,8 @@ public class ElementalFireNatureReactionsConfig {
                         "Duration multiplier for Scorched effect on Frost entities (0.5 = -50% duration).")
                 .defineInRange("scorched_frost_duration_multiplier", 0.5, 0.1, 100.0);
         SCORCHED_ENTITY_BLACKLIST = BUILDER
-                .comment("灼烧效果免疫黑名单。",
-                        "Scorched effect immunity blacklist.")
+                .comment("灼烧效果免疫黑名单（填入实体ID，或以 # 开头的实体标签）。",
+                        "Scorched effect immunity blacklist (Entity IDs, or entity tags prefixed with #).")
                 .defineListAllowEmpty("scorched_entity_blacklist", List.of(), o -> o instanceof String);
         BUILDER.pop();
 
@@ -465,8 +466,8 @@ public class ElementalFireNatureReactionsConfig {
                         "Duration reduction multiplier for Fire  hosts. (0.5 = Halved duration)")
                 .defineInRange("spore_fire_duration_reduction", 0.5, 0.0, 1.0);
         SPORE_ENTITY_BLACKLIST = BUILDER
-                .comment("易燃孢子效果免疫黑名单（填入实体ID，例如：minecraft:creeper）。",
-                        "Flammable Spore immunity blacklist (Entity IDs, e.g., minecraft:creeper).")
+                .comment("易燃孢子效果免疫黑名单（填入实体ID，例如：minecraft:creeper；或实体标签，例如：#minecraft:raiders）。",
+                        "Flammable Spore immunity blacklist (Entity IDs, e.g., minecraft:creeper; or entity tags, e.g., #minecraft:raiders).")
                 .defineListAllowEmpty("spore_entity_blacklist", List.of(), o -> o instanceof String);
         BUILDER.pop();
 
@@ -682,6 +683,7 @@ public class ElementalFireNatureReactionsConfig {
     public static boolean wetnessWaterAnimalImmune;
     public static boolean wetnessNetherDimensionImmune;
     public static List<? extends String> cachedWetnessBlacklist;
+    public static EntityTypeBlacklist compiledWetnessBlacklist = EntityTypeBlacklist.EMPTY;
     public static int sporeMaxStacks;
     public static int sporeReactionThreshold;
     public static double sporePoisonDamage;
@@ -693,6 +695,7 @@ public class ElementalFireNatureReactionsConfig {
     public static double sporeThunderMultiplier;
     public static double sporeFireDurationReduction;
     public static List<? extends String> cachedSporeBlacklist;
+    public static EntityTypeBlacklist compiledSporeBlacklist = EntityTypeBlacklist.EMPTY;
     public static int contagionCheckInterval;
     public static double contagionBaseRadius;
     public static double contagionRadiusPerStack;
@@ -759,6 +762,7 @@ public class ElementalFireNatureReactionsConfig {
     public static double steamScaldingMultiplierSpore;
     public static int steamImmunityThreshold;
     public static List<? extends String> cachedSteamBlacklist;
+    public static EntityTypeBlacklist compiledSteamBlacklist = EntityTypeBlacklist.EMPTY;
     public static int steamTriggerThresholdFire;
     public static int steamTriggerThresholdFrost;
     public static int steamTriggerCooldown;
@@ -781,6 +785,7 @@ public class ElementalFireNatureReactionsConfig {
     public static double scorchedNatureDurationMultiplier;
     public static double scorchedFrostDurationMultiplier;
     public static List<? extends String> cachedScorchedBlacklist;
+    public static EntityTypeBlacklist compiledScorchedBlacklist = EntityTypeBlacklist.EMPTY;
 
     public static void refreshCache() {
         wetnessMaxLevel = WETNESS_MAX_LEVEL.get();
@@ -799,6 +804,7 @@ public class ElementalFireNatureReactionsConfig {
         wetnessWaterAnimalImmune = WETNESS_WATER_ANIMAL_IMMUNE.get();
         wetnessNetherDimensionImmune = WETNESS_NETHER_DIMENSION_IMMUNE.get();
         cachedWetnessBlacklist = WETNESS_ENTITY_BLACKLIST.get();
+        compiledWetnessBlacklist = EntityTypeBlacklist.compile(cachedWetnessBlacklist);
         sporeMaxStacks = SPORE_MAX_STACKS.get();
         sporeReactionThreshold = SPORE_REACTION_THRESHOLD.get();
         sporePoisonDamage = SPORE_POISON_DAMAGE.get();
@@ -810,6 +816,7 @@ public class ElementalFireNatureReactionsConfig {
         sporeThunderMultiplier = SPORE_THUNDER_MULTIPLIER.get();
         sporeFireDurationReduction = SPORE_FIRE_DURATION_REDUCTION.get();
         cachedSporeBlacklist = SPORE_ENTITY_BLACKLIST.get();
+        compiledSporeBlacklist = EntityTypeBlacklist.compile(cachedSporeBlacklist);
         contagionCheckInterval = CONTAGION_CHECK_INTERVAL.get();
         contagionBaseRadius = CONTAGION_BASE_RADIUS.get();
         contagionRadiusPerStack = CONTAGION_RADIUS_PER_STACK.get();
@@ -876,6 +883,7 @@ public class ElementalFireNatureReactionsConfig {
         steamScaldingMultiplierSpore = STEAM_SCALDING_MULTIPLIER_SPORE.get();
         steamImmunityThreshold = STEAM_IMMUNITY_THRESHOLD.get();
         cachedSteamBlacklist = STEAM_IMMUNITY_BLACKLIST.get();
+        compiledSteamBlacklist = EntityTypeBlacklist.compile(cachedSteamBlacklist);
         steamTriggerThresholdFire = STEAM_TRIGGER_THRESHOLD_FIRE.get();
         steamTriggerThresholdFrost = STEAM_TRIGGER_THRESHOLD_FROST.get();
         steamTriggerCooldown = STEAM_TRIGGER_COOLDOWN.get();
@@ -897,6 +905,7 @@ public class ElementalFireNatureReactionsConfig {
         scorchedNatureDurationMultiplier = SCORCHED_NATURE_DURATION_MULTIPLIER.get();
         scorchedFrostDurationMultiplier = SCORCHED_FROST_DURATION_MULTIPLIER.get();
         cachedScorchedBlacklist = SCORCHED_ENTITY_BLACKLIST.get();
+        compiledScorchedBlacklist = EntityTypeBlacklist.compile(cachedScorchedBlacklist);
     }
 
     @SuppressWarnings("deprecation")
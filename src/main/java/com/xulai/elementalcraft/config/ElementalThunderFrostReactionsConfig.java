@@ -1,5 +1,6 @@
 package com.xulai.elementalcraft.config;
 
+import com.xulai.elementalcraft.util.EntityTypeBlacklist;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.config.ModConfig;
@@ -139,12 +140,14 @@ public final class ElementalThunderFrostReactionsConfig {
         STATIC_IMMUNITY_BLACKLIST = BUILDER
                 .comment("Entities in this blacklist are completely immune to Static Shock effect (cannot be applied).",
                          "处于此黑名单中的实体完全免疫静电效果（无法被施加）。",
-                         "Example: [\"minecraft:creeper\", \"minecraft:skeleton\"]")
+                         "Entity tags are supported with a # prefix / 支持以 # 开头的实体标签。",
+                         "Example: [\"minecraft:creeper\", \"minecraft:skeleton\", \"#minecraft:raiders\"]")
                 .defineListAllowEmpty("static_immunity_blacklist", List.of(), o -> o instanceof String);
 
         PARALYSIS_IMMUNITY_BLACKLIST = BUILDER
                 .comment("Entities in this blacklist are completely immune to Paralysis effect (cannot be applied).",
                          "处于此黑名单中的实体完全免疫麻痹效果（无法被施加）。",
+                         "Entity tags are supported with a # prefix / 支持以 # 开头的实体标签。",
                          "Example: [\"minecraft:iron_golem\", \"minecraft:wither\"]")
                 .defineListAllowEmpty("paralysis_immunity_blacklist", List.of(), o -> o instanceof String);
 
@@ -405,6 +408,8 @@ PARALYSIS_SPREAD_EXCLUDE_PETS = BUILDER
 
     public static List<? extends String> cachedStaticImmunityBlacklist;
     public static List<? extends String> cachedParalysisImmunityBlacklist;
+    public static EntityTypeBlacklist compiledStaticImmunityBlacklist = EntityTypeBlacklist.EMPTY;
+    public static EntityTypeBlacklist compiledParalysisImmunityBlacklist = EntityTypeBlacklist.EMPTY;
 
     public static double counterLightningDamage;
 
@@ -443,6 +448,8 @@ PARALYSIS_SPREAD_EXCLUDE_PETS = BUILDER
         staticResistImmunityThreshold = STATIC_RESIST_IMMUNITY_THRESHOLD.get();
         cachedStaticImmunityBlacklist = STATIC_IMMUNITY_BLACKLIST.get();
         cachedParalysisImmunityBlacklist = PARALYSIS_IMMUNITY_BLACKLIST.get();
+        compiledStaticImmunityBlacklist = EntityTypeBlacklist.compile(cachedStaticImmunityBlacklist);
+        compiledParalysisImmunityBlacklist = EntityTypeBlacklist.compile(cachedParalysisImmunityBlacklist);
         staticDamageMin = STATIC_DAMAGE_MIN.get();
         staticDamageMax = STATIC_DAMAGE_MAX.get();
         staticDamageIntervalTicks = STATIC_DAMAGE_INTERVAL_TICKS.get();
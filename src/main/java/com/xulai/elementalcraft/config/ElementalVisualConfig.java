@@ -1,9 +1,12 @@
 package com.xulai.elementalcraft.config;
 
+import com.xulai.elementalcraft.client.VisualGeometry;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.fml.ModLoadingContext;
 import net.minecraftforge.fml.config.ModConfig;
 
+import java.util.Objects;
+
 public class ElementalVisualConfig {
 
     public static final ForgeConfigSpec SPEC;
@@ -18,6 +21,14 @@ public class ElementalVisualConfig {
     public static final ForgeConfigSpec.BooleanValue GLOBAL_VISIBILITY_CHECK_ENABLED;
     public static final ForgeConfigSpec.DoubleValue GLOBAL_VIEW_DISTANCE_MULTIPLIER;
 
+    public static final ForgeConfigSpec.BooleanValue PARTICLE_BUDGET_ENABLED;
+    public static final ForgeConfigSpec.IntValue PARTICLE_BUDGET_MELEE;
+    public static final ForgeConfigSpec.IntValue PARTICLE_BUDGET_TRAIL;
+    public static final ForgeConfigSpec.IntValue PARTICLE_BUDGET_AMBIENT;
+    public static final ForgeConfigSpec.IntValue PARTICLE_SATURATION_THRESHOLD;
+    public static final ForgeConfigSpec.DoubleValue PARTICLE_LOD_FULL_DETAIL_DISTANCE;
+    public static final ForgeConfigSpec.IntValue THUNDER_SPARK_LIVE_CAP;
+
     public static final ForgeConfigSpec.DoubleValue FIRE_MELEE_RADIUS;
     public static final ForgeConfigSpec.DoubleValue FIRE_MELEE_BASE_ANGLE_DEGREES;
     public static final ForgeConfigSpec.DoubleValue FIRE_MELEE_ANGLE_MULTIPLIER_BASE;
@@ -160,6 +171,14 @@ public class ElementalVisualConfig {
     public static boolean globalVisibilityCheckEnabled = true;
     public static double globalViewDistanceMultiplier = 1.0;
 
+    public static boolean particleBudgetEnabled = true;
+    public static int particleBudgetMelee = 400;
+    public static int particleBudgetTrail = 1500;
+    public static int particleBudgetAmbient = 200;
+    public static int particleSaturationThreshold = 8000;
+    public static double particleLodFullDetailDistance = 16.0;
+    public static int thunderSparkLiveCap = 2048;
+
     public static double fireMeleeRadius = 2.2;
     public static double fireMeleeBaseAngleDegrees = 50.0;
     public static double fireMeleeAngleMultiplierBase = 0.3;
@@ -281,6 +300,9 @@ public class ElementalVisualConfig {
     public static int thunderRangedTailDragonBreathCount = 1;
     public static double thunderRangedTailDragonBreathSpread = 0.3;
 
+    // 远程拖尾相关配置的哈希，随拖尾描述发送，用于发现客户端与服务端拖尾配置不一致
+    public static int rangedTrailConfigHash;
+
     public static int thunderImpactGlowCountPerTier = 8;
     public static double thunderImpactGlowSpread = 0.5;
     public static double thunderImpactGlowSpeed = 0.1;
@@ -315,6 +337,53 @@ public class ElementalVisualConfig {
 
         BUILDER.pop();
 
+        BUILDER.comment("Client Particle Budget (client side only)", "客户端粒子预算（仅客户端生效）")
+                .push("particle_budget");
+
+        PARTICLE_BUDGET_ENABLED = BUILDER
+                .comment("Whether to limit client-generated elemental particles with per-tick category budgets and distance LOD.",
+                        "是否按类别的每 tick 预算与距离细节层级限制客户端生成的元素粒子。",
+                        "Default: true")
+                .define("particle_budget_enabled", true);
+
+        PARTICLE_BUDGET_MELEE = BUILDER
+                .comment("Maximum melee swing particles per client tick.",
+                        "每个客户端 tick 近战挥动粒子的上限。",
+                        "Default: 400")
+                .defineInRange("melee_budget", 400, 0, 10000);
+
+        PARTICLE_BUDGET_TRAIL = BUILDER
+                .comment("Maximum projectile trail particles per client tick.",
+                        "每个客户端 tick 投射物拖尾粒子的上限。",
+                        "Default: 1500")
+                .defineInRange("trail_budget", 1500, 0, 20000);
+
+        PARTICLE_BUDGET_AMBIENT = BUILDER
+                .comment("Maximum ambient particles (e.g. spore ambient) per client tick. Ambient particles are dropped first when the particle engine is near saturation.",
+                        "每个客户端 tick 环境粒子（如孢子环境粒子）的上限。粒子引擎接近饱和时优先丢弃环境粒子。",
+                        "Default: 200")
+                .defineInRange("ambient_budget", 200, 0, 5000);
+
+        PARTICLE_SATURATION_THRESHOLD = BUILDER
+                .comment("Live particle count at which the particle engine is considered saturated. At this point ambient particles stop and other budgets shrink.",
+                        "粒子引擎视为饱和的存活粒子数。达到后停止环境粒子，其余预算按超出程度缩减。",
+                        "Default: 8000")
+                .defineInRange("saturation_threshold", 8000, 500, 100000);
+
+        PARTICLE_LOD_FULL_DETAIL_DISTANCE = BUILDER
+                .comment("Distance (blocks) within which effects keep full particle counts. Farther effects are thinned proportionally to distance.",
+                        "在此距离（格）内的特效保持完整粒子数，更远的特效按距离比例稀疏。",
+                        "Default: 16.0")
+                .defineInRange("lod_full_detail_distance", 16.0, 1.0, 256.0);
+
+        THUNDER_SPARK_LIVE_CAP = BUILDER
+                .comment("Maximum number of live thunder spark particles. Expired sparks are recycled; new sparks beyond this cap are skipped.",
+                        "雷电火花粒子同时存在的上限。消失的火花会被回收复用，超过上限的新火花将被跳过。",
+                        "Default: 2048")
+                .defineInRange("thunder_spark_live_cap", 2048, 64, 16384);
+
+        BUILDER.pop();
+
         BUILDER.comment("Fire Attribute Visuals", "赤焰属性特效")
                 .push("fire_visuals");
 
@@ -1201,6 +1270,14 @@ public class ElementalVisualConfig {
         globalVisibilityCheckEnabled = GLOBAL_VISIBILITY_CHECK_ENABLED.get();
         globalViewDistanceMultiplier = GLOBAL_VIEW_DISTANCE_MULTIPLIER.get();
 
+        particleBudgetEnabled = PARTICLE_BUDGET_ENABLED.get();
+        particleBudgetMelee = PARTICLE_BUDGET_MELEE.get();
+        particleBudgetTrail = PARTICLE_BUDGET_TRAIL.get();
+        particleBudgetAmbient = PARTICLE_BUDGET_AMBIENT.get();
+        particleSaturationThreshold = PARTICLE_SATURATION_THRESHOLD.get();
+        particleLodFullDetailDistance = PARTICLE_LOD_FULL_DETAIL_DISTANCE.get();
+        thunderSparkLiveCap = THUNDER_SPARK_LIVE_CAP.get();
+
         fireMeleeEnabled = FIRE_MELEE_ENABLED.get();
         fireRangedEnabled = FIRE_RANGED_ENABLED.get();
         natureMeleeEnabled = NATURE_MELEE_ENABLED.get();
@@ -1329,6 +1406,27 @@ public class ElementalVisualConfig {
         thunderRangedTailDragonBreathCount = THUNDER_RANGED_TAIL_DRAGON_BREATH_COUNT.get();
         thunderRangedTailDragonBreathSpread = THUNDER_RANGED_TAIL_DRAGON_BREATH_SPREAD.get();
 
+        rangedTrailConfigHash = Objects.hash(
+                fireRangedConeMaxRadius, fireRangedBackOffsetStart, fireRangedRotationSpeed, fireRangedInnerRadiusFactor,
+                fireRangedInnerDelayTicks, fireRangedActivationInterval, fireRangedOuterHelixCountPerTier,
+                fireRangedInnerHelixCountPerTier, fireRangedTrailLavaParticleCount, fireRangedTrailSoulParticleCount,
+                fireRangedTrailLavaSpread, fireRangedTrailSoulSpread, fireRangedEnableOuterHelix, fireRangedEnableInnerHelix,
+                fireRangedEnableTrailParticles, fireRangedOuterReverseRotation, fireRangedInnerReverseRotation,
+                natureRangedConeMaxRadius, natureRangedBackOffsetStart, natureRangedRotationSpeed,
+                natureRangedOuterHelixCountPerTier, natureRangedActivationInterval, natureRangedTailHelixCountPerTier,
+                natureRangedTailDelayTicks, natureRangedTailRadiusFactor, natureRangedOuterReverseRotation,
+                natureRangedTailReverseRotation, natureRangedMainParticleCount, natureRangedTailParticleCount,
+                natureRangedCenterParticleEnabled, natureRangedCenterParticleCount,
+                thunderRangedConeMaxRadius, thunderRangedBackOffsetStart, thunderRangedRotationSpeed,
+                thunderRangedHelixCountPerTier, thunderRangedActivationInterval, thunderRangedMainParticleCount,
+                thunderRangedTailEndRodEnabled, thunderRangedTailEndRodCount, thunderRangedTailReversePortalEnabled,
+                thunderRangedTailReversePortalGroups, thunderRangedTailReversePortalCount,
+                thunderRangedTailReversePortalSpread, thunderRangedTailDragonBreathEnabled,
+                thunderRangedTailDragonBreathGroups, thunderRangedTailDragonBreathCount,
+                thunderRangedTailDragonBreathSpread);
+
+        VisualGeometry.rebuild();
+
         thunderImpactGlowCountPerTier = THUNDER_IMPACT_GLOW_COUNT_PER_TIER.get();
         thunderImpactGlowSpread = THUNDER_IMPACT_GLOW_SPREAD.get();
         thunderImpactGlowSpeed = THUNDER_IMPACT_GLOW_SPEED.get();
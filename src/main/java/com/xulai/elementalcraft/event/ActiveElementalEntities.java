@@ -0,0 +1,130 @@
+package com.xulai.elementalcraft.event;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.capability.ElementalStatus;
+import com.xulai.elementalcraft.potion.ModMobEffects;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.entity.living.MobEffectEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 活跃元素实体登记表 / Per-level registry of entities that currently carry elemental state.
+ * <p>
+ * 实体在获得潮湿、静电、灼烧、孢子或蒸汽状态时登记，由这里唯一的 LevelTickEvent 依次驱动各处理器的逐 tick 逻辑；
+ * 状态全部清除后在当 tick 末尾移出，其余实体不再进入任何元素 tick 逻辑。
+ * 环境潮湿采样（水、雨雪、热源）仍由 {@link WetnessHandler} 按实体 tickCount 错峰进行，因为任何实体都可能变湿。
+ * 只剩冷却的实体不在此登记，冷却到期由 {@link ElementalTimers} 回调。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class ActiveElementalEntities {
+
+    private static final Map<ServerLevel, Set<LivingEntity>> ACTIVE = new IdentityHashMap<>();
+
+    private ActiveElementalEntities() {
+    }
+
+    /**
+     * 登记实体，从下一次关卡 tick 起参与元素逻辑；重复登记无副作用。
+     * Registers the entity for elemental ticking; repeated calls are no-ops.
+     */
+    public static void track(LivingEntity entity) {
+        if (!(entity.level() instanceof ServerLevel level)) return;
+        ACTIVE.computeIfAbsent(level, l -> Collections.newSetFromMap(new IdentityHashMap<>())).add(entity);
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || !(event.level instanceof ServerLevel level)) return;
+
+        ElementalTimers.advance(level);
+        SteamReactionHandler.evaluateClouds(level);
+
+        Set<LivingEntity> active = ACTIVE.get(level);
+        if (active == null || active.isEmpty()) return;
+
+        // 处理过程中可能登记新的实体（例如爆燃波及周围目标），先拍快照，新实体从下一 tick 开始处理
+        LivingEntity[] snapshot = active.toArray(new LivingEntity[0]);
+        for (LivingEntity entity : snapshot) {
+            if (entity.isRemoved() || entity.level() != level) {
+                active.remove(entity);
+                continue;
+            }
+            // 与原版一致：位于非实体 tick 区块的实体暂停，但保留登记
+            if (!level.isPositionEntityTicking(entity.blockPosition())) continue;
+
+            WetnessHandler.tickActive(entity);
+            StaticShockHandler.tickActive(entity);
+            ScorchedHandler.tickActive(entity);
+            SteamReactionHandler.tickActive(entity);
+            ReactionHandler.tickActive(entity);
+
+            if (!hasElementalState(entity)) {
+                active.remove(entity);
+            }
+        }
+    }
+
+    private static boolean hasElementalState(LivingEntity entity) {
+        ElementalStatus status = ElementalStatus.get(entity);
+        if (status.getWetness() > 0 || status.staticActive || status.scorchedActive || status.steamBlindness) {
+            return true;
+        }
+        return entity.hasEffect(ModMobEffects.WETNESS.get())
+                || entity.hasEffect(ModMobEffects.STATIC_SHOCK.get())
+                || entity.hasEffect(ModMobEffects.SPORES.get());
+    }
+
+    @SubscribeEvent
+    public static void onEffectAdded(MobEffectEvent.Added event) {
+        LivingEntity entity = event.getEntity();
+        if (entity.level().isClientSide) return;
+        MobEffect effect = event.getEffectInstance().getEffect();
+        if (effect == ModMobEffects.WETNESS.get() || effect == ModMobEffects.STATIC_SHOCK.get() || effect == ModMobEffects.SPORES.get()) {
+            track(entity);
+        }
+    }
+
+    // 在 ElementalStatus 完成旧版 NBT 迁移之后再判断
+    @SubscribeEvent(priority = EventPriority.LOW)
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (event.getLevel().isClientSide) return;
+        if (event.getEntity() instanceof LivingEntity living && hasElementalState(living)) {
+            track(living);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        Set<LivingEntity> active = ACTIVE.get(level);
+        if (active != null && event.getEntity() instanceof LivingEntity living) {
+            active.remove(living);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            ACTIVE.remove(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        ACTIVE.clear();
+    }
+}
@@ -0,0 +1,95 @@
+package com.xulai.elementalcraft.event;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.network.ModNetwork;
+import com.xulai.elementalcraft.network.SporeAmbientPacket;
+import com.xulai.elementalcraft.potion.ModMobEffects;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.event.entity.living.MobEffectEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.network.PacketDistributor;
+
+/**
+ * 环境粒子状态同步 / Syncs which entities carry ambient-particle effects to tracking clients.
+ * <p>
+ * 客户端无法得知其他实体的药水效果，因此在孢子效果添加、移除、过期以及玩家开始追踪实体时发送 {@link SporeAmbientPacket}，
+ * 环境粒子本身由客户端生成。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class AmbientEffectSync {
+
+    private AmbientEffectSync() {
+    }
+
+    private static boolean isSpores(MobEffect effect) {
+        return effect == ModMobEffects.SPORES.get();
+    }
+
+    private static void broadcast(LivingEntity entity, boolean active) {
+        ModNetwork.CHANNEL.send(PacketDistributor.TRACKING_ENTITY_AND_SELF.with(() -> entity),
+                new SporeAmbientPacket(entity.getId(), active));
+    }
+
+    private static void sendTo(ServerPlayer player, LivingEntity entity) {
+        if (entity.hasEffect(ModMobEffects.SPORES.get())) {
+            ModNetwork.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), new SporeAmbientPacket(entity.getId(), true));
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEffectAdded(MobEffectEvent.Added event) {
+        LivingEntity entity = event.getEntity();
+        if (entity.level().isClientSide || event.getOldEffectInstance() != null) return;
+        if (isSpores(event.getEffectInstance().getEffect())) {
+            broadcast(entity, true);
+        }
+    }
+
+    // 移除事件可被取消，在最低优先级确认未被取消后再同步
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onEffectRemoved(MobEffectEvent.Remove event) {
+        LivingEntity entity = event.getEntity();
+        if (entity.level().isClientSide || event.isCanceled()) return;
+        if (isSpores(event.getEffect())) {
+            broadcast(entity, false);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEffectExpired(MobEffectEvent.Expired event) {
+        LivingEntity entity = event.getEntity();
+        MobEffectInstance instance = event.getEffectInstance();
+        if (entity.level().isClientSide || instance == null) return;
+        if (isSpores(instance.getEffect())) {
+            broadcast(entity, false);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onStartTracking(PlayerEvent.StartTracking event) {
+        if (event.getTarget() instanceof LivingEntity living && event.getEntity() instanceof ServerPlayer player) {
+            sendTo(player, living);
+        }
+    }
+
+    // 玩家自身不会被自己追踪，登录与切换维度后客户端会重建世界，需要单独补发
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            sendTo(player, player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            sendTo(player, player);
+        }
+    }
+}
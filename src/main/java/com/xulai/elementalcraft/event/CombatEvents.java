@@ -1,18 +1,19 @@
 package com.xulai.elementalcraft.event;
 
 import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.capability.ElementalStatus;
 import com.xulai.elementalcraft.command.DebugCommand;
 import com.xulai.elementalcraft.config.ElementalConfig;
 import com.xulai.elementalcraft.config.ElementalFireNatureReactionsConfig;
 import com.xulai.elementalcraft.config.ElementalThunderFrostReactionsConfig;
 import com.xulai.elementalcraft.potion.ModMobEffects;
 import com.xulai.elementalcraft.util.EffectHelper;
+import com.xulai.elementalcraft.util.ElementProfile;
 import com.xulai.elementalcraft.util.ElementType;
 import com.xulai.elementalcraft.util.ElementUtils;
 import com.xulai.elementalcraft.event.SteamReactionHandler;
 import com.xulai.elementalcraft.util.GlobalDebugLogger;
 import com.xulai.elementalcraft.util.DebugMode;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.Entity;
@@ -36,11 +37,6 @@ import java.util.function.Supplier;
 @Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
 public class CombatEvents {
 
-    private static final String NBT_WETNESS = "EC_WetnessLevel";
-    private static final String NBT_LAST_DRY_TICK = "EC_LastSelfDryTick";
-    private static final String NBT_NATURE_ATTACK_COOLDOWN = "EC_NatureAttackCooldown";
-    private static final String NBT_SELF_DRYING_PENALTY = "EC_SelfDryingPenalty";
-
     private static final Supplier<net.minecraft.world.effect.MobEffect> SPORES_EFFECT = ModMobEffects.SPORES;
     private static final Supplier<net.minecraft.world.effect.MobEffect> WETNESS_EFFECT = ModMobEffects.WETNESS;
     private static final Supplier<net.minecraft.world.effect.MobEffect> PARALYSIS_EFFECT = ModMobEffects.PARALYSIS;
@@ -67,6 +63,7 @@ public class CombatEvents {
 
         LivingEntity target = event.getEntity();
         DamageSource source = event.getSource();
+        DamageContext context = DamageContext.of(event);
         float currentDamage = event.getAmount();
 
         net.minecraft.world.effect.MobEffect sporeEffect = SPORES_EFFECT.get();
@@ -76,7 +73,7 @@ public class CombatEvents {
             if (stacks > 0) {
                 boolean isMelee = false;
                 boolean isProjectile = false;
-                Entity directEntity = source.getDirectEntity();
+                Entity directEntity = context.directEntity;
 
                 if (directEntity instanceof LivingEntity && !(directEntity instanceof net.minecraft.world.entity.projectile.Projectile)) {
                     isMelee = true;
@@ -94,12 +91,13 @@ public class CombatEvents {
         }
         event.setAmount(currentDamage);
 
-        if (!(source.getEntity() instanceof LivingEntity attacker)) {
+        LivingEntity attacker = context.attacker;
+        if (attacker == null) {
             return;
         }
 
         ItemStack weaponStack = ItemStack.EMPTY;
-        Entity directEntity = source.getDirectEntity();
+        Entity directEntity = context.directEntity;
 
         // 高性能获取三叉戟物品（无 NBT 序列化开销）
         if (directEntity instanceof ThrownTrident trident && TRIDENT_ITEM_FIELD != null) {
@@ -112,21 +110,18 @@ public class CombatEvents {
                 // 忽略极少数情况下的反射错误
             }
         }
-        if (weaponStack.isEmpty()) {
-            ItemStack mainHand = attacker.getMainHandItem();
-            ItemStack offHand = attacker.getOffhandItem();
-            if (ElementUtils.getAttackElement(mainHand) != ElementType.NONE) {
-                weaponStack = mainHand;
-            } else if (ElementUtils.getAttackElement(offHand) != ElementType.NONE) {
-                weaponStack = offHand;
-            }
-        }
+
+        // 攻击者与目标的元素档案由 DamageContext 统一获取
+        ElementProfile attackerProfile = context.attackerProfile;
+        ElementProfile targetProfile = context.targetProfile;
 
         // 修复点1：获取攻击元素并严格进行属性一致性校验（兼顾三叉戟等投射物）
-        ElementType attackElement = ElementUtils.getAttackElement(weaponStack);
+        ElementType attackElement = weaponStack.isEmpty()
+                ? attackerProfile.getAttackElement()
+                : ElementUtils.getAttackElement(weaponStack);
         if (attackElement != ElementType.NONE) {
             // 必须具备对应的元素强化点数，才视为真正的属性攻击
-            if (ElementUtils.getDisplayEnhancement(attacker, attackElement) <= 0) {
+            if (attackerProfile.getEnhancement(attackElement) <= 0) {
                 attackElement = ElementType.NONE;
             }
         }
@@ -146,21 +141,21 @@ public class CombatEvents {
             }
         }
 
+        ElementalStatus attackerStatus = ElementalStatus.get(attacker);
         if (attackElement == ElementType.FIRE) {
-            CompoundTag attackerData = attacker.getPersistentData();
-            int attackerWetness = attackerData.getInt(NBT_WETNESS);
+            int attackerWetness = attackerStatus.getWetness();
             if (attackerWetness > 0) {
                 long currentTick = attacker.level().getGameTime();
-                long lastDryTick = attackerData.getLong(NBT_LAST_DRY_TICK);
+                long lastDryTick = attackerStatus.lastSelfDryTick;
                 if (currentTick != lastDryTick) {
-                    int firePower = ElementUtils.getDisplayEnhancement(attacker, ElementType.FIRE);
+                    int firePower = attackerProfile.getEnhancement(ElementType.FIRE);
                     int threshold = Math.max(1, ElementalFireNatureReactionsConfig.wetnessDryingThreshold);
                     int layersToRemove = firePower / threshold;
                     if (layersToRemove > 0) {
                         int newLevel = Math.max(0, attackerWetness - layersToRemove);
                         int actuallyRemoved = attackerWetness - newLevel;
-                        attackerData.putInt(NBT_WETNESS, newLevel);
-                        attackerData.putLong(NBT_LAST_DRY_TICK, currentTick);
+                        attackerStatus.setWetness(newLevel);
+                        attackerStatus.lastSelfDryTick = currentTick;
 
                         net.minecraft.world.effect.MobEffect wetnessEffect = WETNESS_EFFECT.get();
                         if (newLevel == 0 && wetnessEffect != null && attacker.hasEffect(wetnessEffect)) {
@@ -169,19 +164,19 @@ public class CombatEvents {
 
                         int maxBurstLevel = ElementalFireNatureReactionsConfig.steamHighHeatMaxLevel;
                         EffectHelper.playSteamBurst((ServerLevel) attacker.level(), attacker, 0.5f, Math.min(layersToRemove, maxBurstLevel), true);
-                        attackerData.putInt(NBT_SELF_DRYING_PENALTY, 1);
+                        attackerStatus.selfDryingPenalty = true;
                         DebugCommand.sendDryLog(attacker, attackerWetness, newLevel, actuallyRemoved, firePower);
                         Debug.logSelfDry(attacker, attackerWetness, newLevel, actuallyRemoved, firePower);
                     }
                 } else {
-                    attackerData.putInt(NBT_SELF_DRYING_PENALTY, 1);
+                    attackerStatus.selfDryingPenalty = true;
                 }
             }
         }
 
         float physicalDamage = currentDamage;
-        int enhancementPoints = ElementUtils.getDisplayEnhancement(attacker, attackElement);
-        int resistancePoints = ElementUtils.getDisplayResistance(target, attackElement);
+        int enhancementPoints = attackerProfile.getEnhancement(attackElement);
+        int resistancePoints = targetProfile.getResistance(attackElement);
 
         int strengthPerHalfDamage = ElementalConfig.getStrengthPerHalfDamage();
         int resistPerHalfReduction = ElementalConfig.getResistPerHalfReduction();
@@ -193,7 +188,7 @@ public class CombatEvents {
             return;
         }
 
-        int wetnessLevel = target.getPersistentData().getInt(NBT_WETNESS);
+        int wetnessLevel = ElementalStatus.get(target).getWetness();
         if (wetnessLevel <= 0) {
             String prefix = "EC_WetnessSnapshot_";
             for (String tag : target.getTags()) {
@@ -217,16 +212,15 @@ public class CombatEvents {
             Debug.logWetnessEffect(target, wetnessLevel, finalReduction, wetnessMultiplier);
         }
 
-        CompoundTag attackerData = attacker.getPersistentData();
-        if (attackerData.getInt(NBT_SELF_DRYING_PENALTY) != 0 && attackElement == ElementType.FIRE) {
+        if (attackerStatus.selfDryingPenalty && attackElement == ElementType.FIRE) {
             float penalty = 1.0f - (float) ElementalFireNatureReactionsConfig.wetnessSelfDryingDamagePenalty;
             wetnessMultiplier *= penalty;
             Debug.logSelfDryPenalty(attacker, penalty, wetnessMultiplier);
-            attackerData.putInt(NBT_SELF_DRYING_PENALTY, 0);
+            attackerStatus.selfDryingPenalty = false;
         }
 
         // 修复点2：直接使用一致性方法获取目标主导元素，消除冗余逻辑
-        ElementType targetDominant = ElementUtils.getConsistentAttackElement(target);
+        ElementType targetDominant = context.targetElement;
         float restraintMultiplier = ElementalConfig.getRestraintMultiplier(attackElement, targetDominant);
         Debug.logRestraint(attackElement, targetDominant, restraintMultiplier);
 
@@ -264,7 +258,7 @@ public class CombatEvents {
         if (attackElement == ElementType.FIRE) {
             tryTriggerScorched(attacker, target, enhancementPoints);
         } else if (attackElement == ElementType.NATURE) {
-            if (ElementUtils.getConsistentAttackElement(target) == ElementType.THUNDER) {
+            if (targetDominant == ElementType.THUNDER) {
                 net.minecraft.world.effect.MobEffect spore = SPORES_EFFECT.get();
                 if (spore == null || !target.hasEffect(spore)) {
                     Debug.logNatureCounterNoSpores(attacker, target);
@@ -272,13 +266,13 @@ public class CombatEvents {
                 }
 
                 long currentGameTime = attacker.level().getGameTime();
-                long cooldownEndTime = attacker.getPersistentData().getLong(NBT_NATURE_ATTACK_COOLDOWN);
+                long cooldownEndTime = attackerStatus.natureAttackCooldownEnd;
                 if (currentGameTime < cooldownEndTime) {
                     return;
                 }
 
                 double baseChance = ElementalThunderFrostReactionsConfig.natureAttackTriggerBaseChance;
-                int thunderEnhance = ElementUtils.getDisplayEnhancement(target, ElementType.THUNDER);
+                int thunderEnhance = targetProfile.getEnhancement(ElementType.THUNDER);
                 int threshold = ElementalThunderFrostReactionsConfig.thunderEnhanceThreshold;
                 int steps = Math.max(0, (thunderEnhance - threshold) / threshold);
                 double bonusChance = steps * ElementalThunderFrostReactionsConfig.thunderEnhanceChancePerStep;
@@ -324,7 +318,7 @@ public class CombatEvents {
                     }
 
                     reactionTarget.level().playSound(null, reactionTarget.getX(), reactionTarget.getY(), reactionTarget.getZ(), SoundEvents.LIGHTNING_BOLT_THUNDER, SoundSource.WEATHER, 1.0f, 1.0f);
-                    reactionTarget.getPersistentData().putLong(NBT_NATURE_ATTACK_COOLDOWN, reactionTarget.level().getGameTime() + ElementalThunderFrostReactionsConfig.natureAttackCooldownTicks);
+                    ElementalStatus.get(reactionTarget).natureAttackCooldownEnd = reactionTarget.level().getGameTime() + ElementalThunderFrostReactionsConfig.natureAttackCooldownTicks;
                 }
             }
         }
@@ -352,7 +346,7 @@ public class CombatEvents {
             return;
         }
 
-        if (target.getPersistentData().contains(ScorchedHandler.NBT_SCORCHED_TICKS)) {
+        if (ElementalStatus.get(target).scorchedActive) {
             return;
         }
 
@@ -0,0 +1,137 @@
+package com.xulai.elementalcraft.event;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.util.ElementProfile;
+import com.xulai.elementalcraft.util.ElementSignature;
+import com.xulai.elementalcraft.util.ElementType;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.projectile.Projectile;
+import net.minecraftforge.event.entity.living.LivingDamageEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 单次伤害上下文 / Per-hit values shared by every LivingDamageEvent handler.
+ * <p>
+ * 在 HIGHEST 优先级为每次伤害构建一次：攻击者/目标的元素档案、一致攻击属性、主手武器属性、
+ * 以及元素投射物上的视觉标记。之后的战斗、反应与视觉处理器都通过 {@link #of(LivingDamageEvent)} 读取，不再各自查询装备。
+ * 潮湿等会被前序处理器修改的状态不放入上下文，仍由各处理器即时读取。
+ * <p>
+ * Forge 的伤害事件无法附加自定义数据，上下文放在按事件身份匹配的栈中：HIGHEST 压栈、LOWEST 出栈（包括已取消的事件），
+ * 处理器中触发的嵌套伤害（溅射、传染）压入自己的上下文，结束后外层上下文原样保留；分发结束后不再持有任何实体。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class DamageContext {
+
+    // 服务端单线程处理伤害；栈顶为当前正在分发的（最内层）伤害事件
+    private static final Deque<DamageContext> STACK = new ArrayDeque<>();
+
+    private final LivingDamageEvent event;
+
+    public final LivingEntity target;
+    @Nullable
+    public final LivingEntity attacker;
+    @Nullable
+    public final Entity directEntity;
+    /** 直接伤害来源是投射物 */
+    public final boolean ranged;
+
+    public final ElementProfile targetProfile;
+    @Nullable
+    public final ElementProfile attackerProfile;
+    /** 攻击者的一致攻击属性（武器属性且有对应强化点数），无攻击者时为 NONE */
+    public final ElementType attackElement;
+    /** 目标的一致攻击属性 */
+    public final ElementType targetElement;
+    /** 攻击者主手武器的攻击属性（不含副手回退），无攻击者时为 NONE */
+    public final ElementType mainHandElement;
+
+    /** 元素投射物的视觉类型标记（"fire"/"thunder"/"nature"），非元素投射物为 null */
+    @Nullable
+    public final String projectileVisualType;
+    public final int projectileVisualTier;
+
+    private DamageContext(LivingDamageEvent event) {
+        this.event = event;
+        DamageSource source = event.getSource();
+        this.target = event.getEntity();
+        this.attacker = source.getEntity() instanceof LivingEntity living ? living : null;
+        this.directEntity = source.getDirectEntity();
+        this.ranged = directEntity instanceof Projectile;
+
+        this.targetProfile = ElementProfile.of(target);
+        this.targetElement = targetProfile.getConsistentAttackElement();
+        if (attacker != null) {
+            this.attackerProfile = ElementProfile.of(attacker);
+            this.attackElement = attackerProfile.getConsistentAttackElement();
+            this.mainHandElement = ElementSignature.of(attacker.getMainHandItem()).getAttackElement();
+        } else {
+            this.attackerProfile = null;
+            this.attackElement = ElementType.NONE;
+            this.mainHandElement = ElementType.NONE;
+        }
+
+        String visualType = null;
+        int visualTier = 0;
+        if (ranged) {
+            CompoundTag data = directEntity.getPersistentData();
+            if (data.contains(ElementalProjectileTracker.TAG_ELEMENTAL_PROJECTILE)) {
+                visualType = data.getString(ElementalProjectileTracker.TAG_ELEMENTAL_PROJECTILE);
+                visualTier = data.getInt(ElementalProjectileTracker.TAG_PROJECTILE_TIER);
+            }
+        }
+        this.projectileVisualType = visualType;
+        this.projectileVisualTier = visualTier;
+    }
+
+    /**
+     * 获取本次伤害的上下文；通常已在 HIGHEST 阶段构建，否则就地构建（不入栈）。
+     */
+    public static DamageContext of(LivingDamageEvent event) {
+        for (DamageContext context : STACK) {
+            if (context.event == event) {
+                return context;
+            }
+        }
+        return new DamageContext(event);
+    }
+
+    public int getAttackerEnhancement(ElementType type) {
+        return attackerProfile == null || type == ElementType.NONE ? 0 : attackerProfile.getEnhancement(type);
+    }
+
+    @SubscribeEvent(priority = EventPriority.HIGHEST)
+    public static void onLivingDamage(LivingDamageEvent event) {
+        if (event.getEntity().level().isClientSide) return;
+        STACK.push(new DamageContext(event));
+    }
+
+    /**
+     * 分发结束时出栈；同时移除其上方因处理器异常而未能出栈的嵌套上下文。未入栈的事件不影响栈。
+     */
+    @SubscribeEvent(priority = EventPriority.LOWEST, receiveCanceled = true)
+    public static void onLivingDamageEnd(LivingDamageEvent event) {
+        for (DamageContext context : STACK) {
+            if (context.event == event) {
+                while (STACK.pop() != context) {
+                    // 丢弃未出栈的内层上下文
+                }
+                return;
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        STACK.clear();
+    }
+}
@@ -0,0 +1,151 @@
+package com.xulai.elementalcraft.event;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.config.ElementalConfig;
+import com.xulai.elementalcraft.config.ElementalVisualConfig;
+import com.xulai.elementalcraft.util.ElementProfile;
+import com.xulai.elementalcraft.util.ElementType;
+import com.xulai.elementalcraft.util.ElementUtils;
+import com.xulai.elementalcraft.network.ModNetwork;
+import com.xulai.elementalcraft.network.TrailPacket;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.projectile.Projectile;
+import net.minecraft.world.phys.HitResult;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.entity.ProjectileImpactEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.network.PacketDistributor;
+
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 元素投射物追踪 / Per-level tracker for elemental projectiles and their trail emitters.
+ * <p>
+ * 投射物进入世界时按射手主手武器的攻击属性登记一次，并写入命中特效读取的持久化标记。
+ * 服务端不再生成拖尾粒子：玩家开始追踪已登记的投射物时发送一次 {@link TrailPacket} 开始描述，
+ * 由客户端的 ClientTrailManager 调用对应属性的拖尾发射器（TrailEmitters）在本地生成，网络开销与投射物数量而非粒子数量成正比。
+ * 投射物离开世界或击中方块（箭矢插入方块后不再移动）时由事件移除，击中方块时向追踪者发送停止描述。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class ElementalProjectileTracker {
+
+    public static final String TAG_ELEMENTAL_PROJECTILE = "EC_ElementalType";
+    public static final String TAG_PROJECTILE_TIER = "EC_VisualTier";
+
+    private record Tracked(Projectile projectile, ElementType type, int tier, int spawnTick) {
+    }
+
+    // 有拖尾特效的属性及其开关
+    private static final Map<ElementType, BooleanSupplier> TRAILS = new EnumMap<>(ElementType.class);
+    private static final Map<ServerLevel, Map<Projectile, Tracked>> TRACKED = new IdentityHashMap<>();
+
+    static {
+        register(ElementType.FIRE, () -> ElementalVisualConfig.fireRangedEnabled);
+        register(ElementType.NATURE, () -> ElementalVisualConfig.natureRangedEnabled);
+        register(ElementType.THUNDER, () -> ElementalVisualConfig.thunderRangedEnabled);
+    }
+
+    private ElementalProjectileTracker() {
+    }
+
+    /**
+     * 登记有拖尾特效的属性；客户端发射器在 TrailEmitters 中注册。
+     */
+    public static void register(ElementType type, BooleanSupplier enabled) {
+        TRAILS.put(type, enabled);
+    }
+
+    /**
+     * 视觉等级：强化点数每达到一个属性上限提升一级，最高 4 级。
+     */
+    public static int calculateVisualTier(LivingEntity entity, ElementType type) {
+        if (type == ElementType.NONE) return 0;
+        int totalPoints = ElementProfile.of(entity).getEnhancement(type);
+        int cap = ElementalConfig.getMaxStatCap();
+        if (cap <= 0) cap = 100;
+        if (totalPoints < cap) return 0;
+        if (totalPoints < cap * 2) return 1;
+        if (totalPoints < cap * 3) return 2;
+        if (totalPoints < cap * 4) return 3;
+        return 4;
+    }
+
+    @SubscribeEvent
+    public static void onProjectileJoin(EntityJoinLevelEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        if (!(event.getEntity() instanceof Projectile projectile)) return;
+        if (!(projectile.getOwner() instanceof LivingEntity shooter)) return;
+
+        ElementType type = ElementUtils.getAttackElement(shooter.getMainHandItem());
+        BooleanSupplier enabled = TRAILS.get(type);
+        if (enabled == null || !enabled.getAsBoolean()) return;
+
+        int tier = calculateVisualTier(shooter, type);
+        if (tier <= 0) return;
+
+        CompoundTag data = projectile.getPersistentData();
+        data.putString(TAG_ELEMENTAL_PROJECTILE, type.getId());
+        data.putInt(TAG_PROJECTILE_TIER, tier);
+        TRACKED.computeIfAbsent(level, l -> new IdentityHashMap<>())
+                .put(projectile, new Tracked(projectile, type, tier, projectile.tickCount));
+    }
+
+    @SubscribeEvent
+    public static void onStartTracking(PlayerEvent.StartTracking event) {
+        if (!(event.getTarget() instanceof Projectile projectile) || !(event.getEntity() instanceof ServerPlayer player)) return;
+        if (!(projectile.level() instanceof ServerLevel level)) return;
+        Map<Projectile, Tracked> tracked = TRACKED.get(level);
+        Tracked entry = tracked != null ? tracked.get(projectile) : null;
+        if (entry == null) return;
+
+        TrailPacket packet = TrailPacket.start(projectile.getId(), entry.type(), entry.tier(),
+                projectile.tickCount - entry.spawnTick(), projectile.getUUID().getLeastSignificantBits(),
+                ElementalVisualConfig.rangedTrailConfigHash);
+        ModNetwork.CHANNEL.send(PacketDistributor.PLAYER.with(() -> player), packet);
+    }
+
+    @SubscribeEvent
+    public static void onProjectileLeave(EntityLeaveLevelEvent event) {
+        if (event.getLevel() instanceof ServerLevel level && event.getEntity() instanceof Projectile projectile) {
+            untrack(level, projectile);
+        }
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onProjectileImpact(ProjectileImpactEvent event) {
+        if (event.getRayTraceResult().getType() != HitResult.Type.BLOCK) return;
+        Projectile projectile = event.getProjectile();
+        if (projectile.level() instanceof ServerLevel level && untrack(level, projectile)) {
+            ModNetwork.CHANNEL.send(PacketDistributor.TRACKING_ENTITY.with(() -> projectile), TrailPacket.stop(projectile.getId()));
+        }
+    }
+
+    private static boolean untrack(ServerLevel level, Projectile projectile) {
+        Map<Projectile, Tracked> tracked = TRACKED.get(level);
+        return tracked != null && tracked.remove(projectile) != null;
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            TRACKED.remove(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        TRACKED.clear();
+    }
+}
@@ -0,0 +1,117 @@
+package com.xulai.elementalcraft.event;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.capability.ElementalStatus;
+import com.xulai.elementalcraft.util.TimingWheel;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 元素定时器 / Per-level expiry callbacks for elemental deadlines.
+ * <p>
+ * 静电、灼烧、麻痹的结束时刻和蒸汽攻击者冷却都以绝对游戏时间保存在 {@link ElementalStatus} 中，
+ * 到期时由这里的分层时间轮回调对应处理器，实体在两次事件之间无需逐 tick 递减计时器。
+ * 定时器不支持取消：截止时间被延长或状态被清除后，旧定时器在触发时与当前截止时间不一致，直接忽略。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class ElementalTimers {
+
+    public enum Kind {
+        STATIC_EXPIRY,
+        SCORCHED_EXPIRY,
+        PARALYSIS_EXPIRY,
+        STEAM_ATTACKER_COOLDOWN
+    }
+
+    private record Timer(LivingEntity entity, Kind kind, long deadline) {
+    }
+
+    private static final Map<ServerLevel, TimingWheel<Timer>> WHEELS = new IdentityHashMap<>();
+
+    private ElementalTimers() {
+    }
+
+    /**
+     * 在 deadline（游戏时间）到期时回调；同一实体同一类型重复安排时只有与当前状态一致的那次生效。
+     */
+    public static void schedule(LivingEntity entity, Kind kind, long deadline) {
+        if (!(entity.level() instanceof ServerLevel level)) return;
+        WHEELS.computeIfAbsent(level, l -> new TimingWheel<>(l.getGameTime()))
+                .schedule(deadline, new Timer(entity, kind, deadline));
+    }
+
+    /**
+     * 由 {@link ActiveElementalEntities} 在关卡 tick 中、活跃实体处理之前调用。
+     */
+    static void advance(ServerLevel level) {
+        TimingWheel<Timer> wheel = WHEELS.get(level);
+        if (wheel == null) return;
+        wheel.advance(level.getGameTime(), ElementalTimers::fire);
+    }
+
+    private static void fire(Timer timer) {
+        LivingEntity entity = timer.entity();
+        // 已卸载的实体在重新进入世界时会按存档中的截止时间重新安排
+        if (entity.isRemoved()) return;
+
+        ElementalStatus status = ElementalStatus.get(entity);
+        long deadline = timer.deadline();
+        switch (timer.kind()) {
+            case STATIC_EXPIRY -> {
+                if (status.staticActive && status.staticEnd == deadline) {
+                    StaticShockHandler.onStaticExpired(entity);
+                }
+            }
+            case SCORCHED_EXPIRY -> {
+                if (status.scorchedActive && status.scorchedEnd == deadline) {
+                    ScorchedHandler.onScorchedExpired(entity);
+                }
+            }
+            case PARALYSIS_EXPIRY -> {
+                if (status.paralysisEnd == deadline) {
+                    status.paralysisStacks = 0;
+                    status.paralysisEnd = 0L;
+                }
+            }
+            case STEAM_ATTACKER_COOLDOWN -> {
+                if (status.steamAttackerCooldownEnd == deadline) {
+                    SteamReactionHandler.onAttackerCooldownExpired(entity);
+                }
+            }
+        }
+    }
+
+    // 在 ElementalStatus 完成旧版 NBT 迁移之后再安排
+    @SubscribeEvent(priority = EventPriority.LOW)
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (event.getLevel().isClientSide) return;
+        if (!(event.getEntity() instanceof LivingEntity living)) return;
+
+        ElementalStatus status = ElementalStatus.get(living);
+        if (status.staticActive) schedule(living, Kind.STATIC_EXPIRY, status.staticEnd);
+        if (status.scorchedActive) schedule(living, Kind.SCORCHED_EXPIRY, status.scorchedEnd);
+        if (status.paralysisEnd != 0L) schedule(living, Kind.PARALYSIS_EXPIRY, status.paralysisEnd);
+        if (status.steamAttackerCooldownEnd != 0L) schedule(living, Kind.STEAM_ATTACKER_COOLDOWN, status.steamAttackerCooldownEnd);
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            WHEELS.remove(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        WHEELS.clear();
+    }
+}
@@ -0,0 +1,268 @@
+package com.xulai.elementalcraft.event;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.FluidTags;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 热源索引 / Per-chunk-section index of lava and magma blocks used by wetness drying.
+ * <p>
+ * 区块加载时扫描一次（先用调色板 maybeHas 排除不含热源的区段），之后由方块邻居更新事件增量维护。
+ * 只记录"是熔岩/岩浆块"这一事实；岩浆块是否被水包围在查询时检查，因为水的变化不必同步到索引。
+ * 查询时发现已失效的位置会顺手清除，因此漏掉的移除不会长期误判。
+ * 不触发邻居更新的放置（结构模板、地图编辑器等关闭 UPDATE_NEIGHBORS 的写入）不会进入索引：查询范围内没有索引记录的已加载区段
+ * 会用调色板 maybeHas 重新检查，最多每 {@link #EMPTY_RECHECK_TICKS} tick 一次；已有记录的区段中这类放置要到区块重新加载才会被发现。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class HeatSourceIndex {
+
+    private static final int EMPTY_RECHECK_TICKS = 200;
+
+    private static final Map<ServerLevel, Long2ObjectMap<SectionHeat>> INDEX = new IdentityHashMap<>();
+    // 查询时确认过不含热源的区段 → 确认时的游戏时间
+    private static final Map<ServerLevel, Long2LongMap> CHECKED_EMPTY = new IdentityHashMap<>();
+
+    private HeatSourceIndex() {
+    }
+
+    private static final class SectionHeat {
+        private final BitSet lava = new BitSet(4096);
+        private final BitSet magma = new BitSet(4096);
+
+        private boolean isEmpty() {
+            return lava.isEmpty() && magma.isEmpty();
+        }
+    }
+
+    /**
+     * 以 center 为中心：lavaRange 立方范围内有熔岩，或 magmaRange 立方范围内有未被水包围的岩浆块。
+     */
+    public static boolean hasHeatNear(ServerLevel level, BlockPos center, int lavaRange, int magmaRange) {
+        Long2ObjectMap<SectionHeat> sections = INDEX.computeIfAbsent(level, l -> new Long2ObjectOpenHashMap<>());
+        Long2LongMap checked = CHECKED_EMPTY.computeIfAbsent(level, l -> new Long2LongOpenHashMap());
+
+        int range = Math.max(lavaRange, magmaRange);
+        int cx = center.getX();
+        int cy = center.getY();
+        int cz = center.getZ();
+        BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+
+        for (int sx = (cx - range) >> 4; sx <= (cx + range) >> 4; sx++) {
+            for (int sy = (cy - range) >> 4; sy <= (cy + range) >> 4; sy++) {
+                for (int sz = (cz - range) >> 4; sz <= (cz + range) >> 4; sz++) {
+                    long key = SectionPos.asLong(sx, sy, sz);
+                    SectionHeat heat = sections.get(key);
+                    if (heat == null) {
+                        heat = recheckSection(level, checked, sx, sy, sz, key);
+                        if (heat == null) continue;
+                        sections.put(key, heat);
+                    }
+
+                    if (scanLava(level, heat, sx, sy, sz, cx, cy, cz, lavaRange, mutablePos)
+                            || scanMagma(level, heat, sx, sy, sz, cx, cy, cz, magmaRange, mutablePos)) {
+                        return true;
+                    }
+                    if (heat.isEmpty()) {
+                        sections.remove(key);
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 没有索引记录的区段：距上次确认超过间隔时用调色板检查一次，含热源则完整扫描。不加载区块。
+     */
+    private static SectionHeat recheckSection(ServerLevel level, Long2LongMap checked, int sx, int sy, int sz, long key) {
+        long now = level.getGameTime();
+        if (checked.containsKey(key) && now - checked.get(key) < EMPTY_RECHECK_TICKS) return null;
+        checked.put(key, now);
+
+        LevelChunk chunk = level.getChunkSource().getChunkNow(sx, sz);
+        if (chunk == null) return null;
+        int index = chunk.getSectionIndexFromSectionY(sy);
+        if (index < 0 || index >= chunk.getSections().length) return null;
+
+        SectionHeat heat = scanSection(chunk.getSections()[index]);
+        if (heat != null) {
+            checked.remove(key);
+        }
+        return heat;
+    }
+
+    private static boolean scanLava(ServerLevel level, SectionHeat heat, int sx, int sy, int sz,
+                                    int cx, int cy, int cz, int range, BlockPos.MutableBlockPos mutablePos) {
+        for (int i = heat.lava.nextSetBit(0); i >= 0; i = heat.lava.nextSetBit(i + 1)) {
+            if (!setIfInRange(mutablePos, i, sx, sy, sz, cx, cy, cz, range)) continue;
+            if (level.getFluidState(mutablePos).is(FluidTags.LAVA)) {
+                return true;
+            }
+            heat.lava.clear(i);
+        }
+        return false;
+    }
+
+    private static boolean scanMagma(ServerLevel level, SectionHeat heat, int sx, int sy, int sz,
+                                     int cx, int cy, int cz, int range, BlockPos.MutableBlockPos mutablePos) {
+        for (int i = heat.magma.nextSetBit(0); i >= 0; i = heat.magma.nextSetBit(i + 1)) {
+            if (!setIfInRange(mutablePos, i, sx, sy, sz, cx, cy, cz, range)) continue;
+            if (!level.getBlockState(mutablePos).is(Blocks.MAGMA_BLOCK)) {
+                heat.magma.clear(i);
+                continue;
+            }
+            boolean hasWaterNearby = false;
+            for (Direction direction : Direction.values()) {
+                if (level.getFluidState(mutablePos.relative(direction)).is(FluidTags.WATER)) {
+                    hasWaterNearby = true;
+                    break;
+                }
+            }
+            if (!hasWaterNearby) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean setIfInRange(BlockPos.MutableBlockPos mutablePos, int index, int sx, int sy, int sz,
+                                        int cx, int cy, int cz, int range) {
+        int x = (sx << 4) + (index & 15);
+        int y = (sy << 4) + (index >> 8);
+        int z = (sz << 4) + ((index >> 4) & 15);
+        if (Math.abs(x - cx) > range || Math.abs(y - cy) > range || Math.abs(z - cz) > range) return false;
+        mutablePos.set(x, y, z);
+        return true;
+    }
+
+    private static int localIndex(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    private static boolean isLava(BlockState state) {
+        return state.getFluidState().is(FluidTags.LAVA);
+    }
+
+    private static boolean isHeatBlock(BlockState state) {
+        return state.is(Blocks.MAGMA_BLOCK) || isLava(state);
+    }
+
+    // ==================== 维护 ====================
+
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (!(event.getLevel() instanceof ServerLevel level) || !(event.getChunk() instanceof LevelChunk chunk)) return;
+
+        Long2ObjectMap<SectionHeat> sections = INDEX.computeIfAbsent(level, l -> new Long2ObjectOpenHashMap<>());
+        LevelChunkSection[] chunkSections = chunk.getSections();
+        int chunkX = chunk.getPos().x;
+        int chunkZ = chunk.getPos().z;
+        for (int i = 0; i < chunkSections.length; i++) {
+            SectionHeat heat = scanSection(chunkSections[i]);
+            if (heat != null) {
+                sections.put(SectionPos.asLong(chunkX, chunk.getSectionYFromSectionIndex(i), chunkZ), heat);
+            }
+        }
+    }
+
+    /**
+     * 先用调色板排除不含热源的区段，再逐格扫描；没有热源时返回 null。
+     */
+    private static SectionHeat scanSection(LevelChunkSection section) {
+        if (section.hasOnlyAir() || !section.maybeHas(HeatSourceIndex::isHeatBlock)) return null;
+
+        SectionHeat heat = new SectionHeat();
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    BlockState state = section.getBlockState(x, y, z);
+                    if (state.is(Blocks.MAGMA_BLOCK)) {
+                        heat.magma.set(localIndex(x, y, z));
+                    } else if (isLava(state)) {
+                        heat.lava.set(localIndex(x, y, z));
+                    }
+                }
+            }
+        }
+        return heat.isEmpty() ? null : heat;
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        Long2ObjectMap<SectionHeat> sections = INDEX.get(level);
+        Long2LongMap checked = CHECKED_EMPTY.get(level);
+
+        int chunkX = event.getChunk().getPos().x;
+        int chunkZ = event.getChunk().getPos().z;
+        for (int sy = level.getMinSection(); sy < level.getMaxSection(); sy++) {
+            long key = SectionPos.asLong(chunkX, sy, chunkZ);
+            if (sections != null) sections.remove(key);
+            if (checked != null) checked.remove(key);
+        }
+    }
+
+    /**
+     * 方块变化（含流体扩散）都会经过邻居更新，借此增量维护索引。
+     */
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+
+        BlockPos pos = event.getPos();
+        BlockState state = event.getState();
+        boolean magma = state.is(Blocks.MAGMA_BLOCK);
+        boolean lava = !magma && isLava(state);
+
+        Long2ObjectMap<SectionHeat> sections = INDEX.get(level);
+        long key = SectionPos.asLong(pos);
+        SectionHeat heat = sections != null ? sections.get(key) : null;
+        if (heat == null) {
+            if (!magma && !lava) return;
+            heat = new SectionHeat();
+            INDEX.computeIfAbsent(level, l -> new Long2ObjectOpenHashMap<>()).put(key, heat);
+        }
+
+        int index = localIndex(pos.getX(), pos.getY(), pos.getZ());
+        heat.magma.set(index, magma);
+        heat.lava.set(index, lava);
+        if (heat.isEmpty()) {
+            sections.remove(key);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            INDEX.remove(level);
+            CHECKED_EMPTY.remove(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        INDEX.clear();
+        CHECKED_EMPTY.clear();
+    }
+}
@@ -3,20 +3,36 @@ package com.xulai.elementalcraft.event;
 import com.xulai.elementalcraft.ElementalCraft;
 import com.xulai.elementalcraft.config.ElementalConfig;
 import com.xulai.elementalcraft.enchantment.ModEnchantments;
+import com.xulai.elementalcraft.util.ElementProfile;
 import com.xulai.elementalcraft.util.ElementType;
 import com.xulai.elementalcraft.util.ForcedItemHelper;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.world.entity.player.Player;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.ContainerListener;
+import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerContainerEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 
-import java.util.List;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
+/**
+ * 强制物品属性同步 / Applies forced item attributes to stacks in player inventories.
+ * <p>
+ * 玩家的背包菜单（以及打开的其他容器菜单）上挂有槽位监听器，菜单广播变化时把变化的背包槽位记为待检查，
+ * 玩家 tick 结束时只重新判定这些槽位。首次挂载（登录、重生）后以及强制物品或主配置版本变化（重载）后对整个背包完整检查一次。
+ * 自身写入引起的槽位变化在写入后立即广播并忽略；已追踪物品的等级仍在配置范围内时保留，不会每次检查都重新掷点。
+ */
 @Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
 public class InventoryAutoForceEvents {
 
@@ -24,42 +40,151 @@ public class InventoryAutoForceEvents {
 
     private static final String TAG_FORCED_DATA = "elementalcraft_forced_data";
 
+    private static final Map<ServerPlayer, SlotTracker> TRACKERS = new IdentityHashMap<>();
+
+    /**
+     * 一名玩家背包中待检查的槽位，下标为 Inventory 的容器下标（主背包、盔甲、副手）。
+     */
+    private static final class SlotTracker implements ContainerListener {
+        private final ServerPlayer player;
+        private final BitSet dirty = new BitSet();
+        // 本 tick 由自身写入修改过的槽位，广播期间这些槽位的变化回调不再标记
+        private final BitSet written = new BitSet();
+        private boolean applying;
+        private int forcedItemVersion;
+        private int configVersion;
+
+        private SlotTracker(ServerPlayer player) {
+            this.player = player;
+            markAll();
+        }
+
+        private void markAll() {
+            dirty.set(0, player.getInventory().getContainerSize());
+            forcedItemVersion = ForcedItemHelper.getVersion();
+            configVersion = ElementalConfig.cacheVersion;
+        }
+
+        private boolean isStale() {
+            return forcedItemVersion != ForcedItemHelper.getVersion() || configVersion != ElementalConfig.cacheVersion;
+        }
+
+        @Override
+        public void slotChanged(AbstractContainerMenu menu, int slotIndex, ItemStack stack) {
+            if (slotIndex < 0 || slotIndex >= menu.slots.size()) return;
+            Slot slot = menu.getSlot(slotIndex);
+            if (slot.container != player.getInventory()) return;
+            int containerSlot = slot.getContainerSlot();
+            if (!applying || !written.get(containerSlot)) {
+                dirty.set(containerSlot);
+            }
+        }
+
+        @Override
+        public void dataChanged(AbstractContainerMenu menu, int dataSlotIndex, int value) {
+        }
+    }
+
     @SubscribeEvent
     public static void onPlayerTick(TickEvent.PlayerTickEvent event) {
         if (event.phase != TickEvent.Phase.END) return;
-        Player player = event.player;
-        if (player == null || player.level().isClientSide()) return;
+        if (!(event.player instanceof ServerPlayer player)) return;
+
+        SlotTracker tracker = TRACKERS.get(player);
+        if (tracker == null) {
+            tracker = new SlotTracker(player);
+            TRACKERS.put(player, tracker);
+            player.inventoryMenu.addSlotListener(tracker);
+            if (player.containerMenu != player.inventoryMenu) {
+                player.containerMenu.addSlotListener(tracker);
+            }
+        } else if (tracker.isStale()) {
+            tracker.markAll();
+        }
+
+        if (tracker.dirty.isEmpty()) return;
+
+        Inventory inventory = player.getInventory();
+        for (int i = tracker.dirty.nextSetBit(0); i >= 0; i = tracker.dirty.nextSetBit(i + 1)) {
+            if (i < inventory.getContainerSize() && processStack(inventory.getItem(i))) {
+                tracker.written.set(i);
+            }
+        }
+        tracker.dirty.clear();
+
+        if (tracker.written.isEmpty()) return;
+
+        // 原地修改会在下次广播时被菜单视为槽位变化，这里立即广播，只忽略自身写入的槽位
+        tracker.applying = true;
+        try {
+            player.containerMenu.broadcastChanges();
+        } finally {
+            tracker.applying = false;
+            tracker.written.clear();
+        }
 
-        if (player.tickCount % 100 != 0) return;
+        // 附魔为原地修改，装备变更事件要到下一 tick 才能察觉，这里直接失效元素档案
+        ElementProfile.invalidate(player);
+    }
 
-        processList(player.getInventory().items, player);
-        processList(player.getInventory().armor, player);
-        processList(player.getInventory().offhand, player);
+    /**
+     * 打开其他容器时背包菜单不再广播，监听新菜单中属于玩家背包的槽位。
+     */
+    @SubscribeEvent
+    public static void onContainerOpen(PlayerContainerEvent.Open event) {
+        if (!(event.getEntity() instanceof ServerPlayer player)) return;
+        SlotTracker tracker = TRACKERS.get(player);
+        if (tracker != null) {
+            event.getContainer().addSlotListener(tracker);
+        }
     }
 
-    private static void processList(List<ItemStack> stacks, Player player) {
-        for (ItemStack stack : stacks) {
-            if (stack.isEmpty()) continue;
+    @SubscribeEvent
+    public static void onPlayerClone(PlayerEvent.Clone event) {
+        if (event.getOriginal() instanceof ServerPlayer original) {
+            TRACKERS.remove(original);
+        }
+    }
 
-            boolean isForced =
-                    ForcedItemHelper.getForcedWeapon(stack.getItem()) != null
-                            || ForcedItemHelper.getForcedArmor(stack.getItem()) != null;
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            TRACKERS.remove(player);
+        }
+    }
 
-            CompoundTag tag = stack.getTag();
-            boolean wasForced = tag != null && tag.getBoolean(TAG_FORCED);
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        TRACKERS.clear();
+    }
 
-            if (isForced) {
-                applyForcedAttributes(stack, wasForced);
-            } else if (wasForced) {
-                removeForcedAttributes(stack);
-                stack.removeTagKey(TAG_FORCED);
-                stack.removeTagKey(TAG_FORCED_DATA);
-            }
+    /**
+     * 判定单个物品并按需写入，返回物品是否被修改。
+     */
+    private static boolean processStack(ItemStack stack) {
+        if (stack.isEmpty()) return false;
+
+        boolean isForced = ForcedItemHelper.isForced(stack.getItem());
+
+        CompoundTag tag = stack.getTag();
+        boolean wasForced = tag != null && tag.getBoolean(TAG_FORCED);
+
+        if (isForced) {
+            return applyForcedAttributes(stack, wasForced);
+        } else if (wasForced) {
+            removeForcedAttributes(stack);
+            stack.removeTagKey(TAG_FORCED);
+            stack.removeTagKey(TAG_FORCED_DATA);
+            return true;
         }
+        return false;
     }
 
-    public static void applyForcedAttributes(ItemStack stack, boolean isTracked) {
-        if (stack.isEmpty()) return;
+    /**
+     * 写入强制属性，返回物品是否被修改。
+     */
+    public static boolean applyForcedAttributes(ItemStack stack, boolean isTracked) {
+        if (stack.isEmpty()) return false;
 
         boolean changed = false;
         Map<Enchantment, Integer> currentEnchants = EnchantmentHelper.getEnchantments(stack);
@@ -97,14 +222,15 @@ public class InventoryAutoForceEvents {
             }
         }
 
-        ForcedItemHelper.ArmorData armorData = ForcedItemHelper.getForcedArmor(stack.getItem());
-        if (armorData != null) {
-            if (armorData.enhanceType() != null && armorData.enhancePoints() > 0) {
-                Enchantment targetEnhance = getEnhancementEnchantment(armorData.enhanceType());
-                int level = Math.max(1, Math.min(5, armorData.enhancePoints() / ElementalConfig.getStrengthPerLevel()));
+        ForcedItemHelper.ArmorTemplate armor = ForcedItemHelper.getForcedArmor(stack.getItem());
+        if (armor != null) {
+            Enchantment targetEnhance = armor.enhanceType() != null ? getEnhancementEnchantment(armor.enhanceType()) : null;
+            if (targetEnhance != null) {
+                int level = pickLevel(currentEnchants.getOrDefault(targetEnhance, 0), isTracked,
+                        armor.enhanceRange(), ElementalConfig.getStrengthPerLevel());
 
-                if (targetEnhance != null) {
-                    forcedData.putString("enhance", armorData.enhanceType().getId());
+                if (level > 0) {
+                    forcedData.putString("enhance", armor.enhanceType().getId());
 
                     if (isTracked) {
                         for (ElementType type : ElementType.values()) {
@@ -136,12 +262,13 @@ public class InventoryAutoForceEvents {
                 }
             }
 
-            if (armorData.resistType() != null && armorData.resistPoints() > 0) {
-                Enchantment targetResist = getResistanceEnchantment(armorData.resistType());
-                int level = Math.max(1, Math.min(5, armorData.resistPoints() / ElementalConfig.getResistPerLevel()));
+            Enchantment targetResist = armor.resistType() != null ? getResistanceEnchantment(armor.resistType()) : null;
+            if (targetResist != null) {
+                int level = pickLevel(currentEnchants.getOrDefault(targetResist, 0), isTracked,
+                        armor.resistRange(), ElementalConfig.getResistPerLevel());
 
-                if (targetResist != null) {
-                    forcedData.putString("resist", armorData.resistType().getId());
+                if (level > 0) {
+                    forcedData.putString("resist", armor.resistType().getId());
 
                     if (isTracked) {
                         for (ElementType type : ElementType.values()) {
@@ -179,10 +306,32 @@ public class InventoryAutoForceEvents {
         }
 
         CompoundTag stackTag = stack.getOrCreateTag();
-        stackTag.putBoolean(TAG_FORCED, true);
-        if (!forcedData.isEmpty()) {
+        if (!stackTag.getBoolean(TAG_FORCED)) {
+            stackTag.putBoolean(TAG_FORCED, true);
+            changed = true;
+        }
+        if (!forcedData.isEmpty() && !forcedData.equals(stackTag.get(TAG_FORCED_DATA))) {
             stackTag.put(TAG_FORCED_DATA, forcedData);
+            changed = true;
         }
+        return changed;
+    }
+
+    /**
+     * 已追踪物品上的现有等级仍落在配置点数范围对应的等级内时保留，否则重新掷点；掷出 0 点时返回 0（不附魔）。
+     */
+    private static int pickLevel(int currentLevel, boolean isTracked, ForcedItemHelper.RangeValue range, int pointsPerLevel) {
+        if (isTracked && currentLevel > 0 && range.max() > 0
+                && currentLevel >= toLevel(range.lowestRoll(), pointsPerLevel)
+                && currentLevel <= toLevel(range.max(), pointsPerLevel)) {
+            return currentLevel;
+        }
+        int points = range.roll();
+        return points > 0 ? toLevel(points, pointsPerLevel) : 0;
+    }
+
+    private static int toLevel(int points, int pointsPerLevel) {
+        return Math.max(1, Math.min(5, points / pointsPerLevel));
     }
 
     private static void removeForcedAttributes(ItemStack stack) {
@@ -0,0 +1,166 @@
+package com.xulai.elementalcraft.event;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.TamableAnimal;
+import net.minecraft.world.entity.monster.Enemy;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 生物空间索引 / Per-level, per-tick uniform grid of living entities for AOE reactions.
+ * <p>
+ * 孢子传染、毒火爆燃、野火喷射、静电溅射、麻痹传染与蒸汽云占用检测都通过这里做范围查询。
+ * 每个关卡每 tick 在第一次查询时遍历一次已加载实体，按 8 格立方体分桶并预先计算敌对/玩家/已驯服宠物标记；
+ * 同一 tick 内的其余查询只访问相交的格子。本 tick 中途加入世界的生物（如分裂的史莱姆）直接插入当前网格的对应格子，不触发重建。
+ * 结果与 getEntitiesOfClass 相同：返回包围盒与查询区域相交、且未被移除的生物。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class LivingEntityGrid {
+
+    /** 敌对生物（实现 {@link Enemy}） */
+    public static final int HOSTILE = 1;
+    /** 玩家 */
+    public static final int PLAYER = 1 << 1;
+    /** 已驯服且主人在线的宠物 */
+    public static final int TAMED_PET = 1 << 2;
+
+    private static final int CELL_SHIFT = 3;
+    // 查询时额外扩展的边距，覆盖实体在本 tick 建立索引之后的少量位移
+    private static final double CELL_PADDING = 2.0;
+
+    private static final Map<ServerLevel, Grid> GRIDS = new IdentityHashMap<>();
+
+    private LivingEntityGrid() {
+    }
+
+    private record Entry(LivingEntity entity, int flags) {
+    }
+
+    private static final class Grid {
+        private final Long2ObjectMap<List<Entry>> cells = new Long2ObjectOpenHashMap<>();
+        private long builtTick = Long.MIN_VALUE;
+        private double maxHalfWidth;
+        private double maxHeight;
+
+        private void rebuild(ServerLevel level) {
+            cells.clear();
+            maxHalfWidth = 0.0;
+            maxHeight = 0.0;
+            for (Entity entity : level.getAllEntities()) {
+                if (entity instanceof LivingEntity living && !living.isRemoved()) {
+                    add(living);
+                }
+            }
+            builtTick = level.getGameTime();
+        }
+
+        private void add(LivingEntity living) {
+            long key = BlockPos.asLong(
+                    Mth.floor(living.getX()) >> CELL_SHIFT,
+                    Mth.floor(living.getY()) >> CELL_SHIFT,
+                    Mth.floor(living.getZ()) >> CELL_SHIFT);
+            cells.computeIfAbsent(key, k -> new ArrayList<>()).add(new Entry(living, flagsOf(living)));
+            maxHalfWidth = Math.max(maxHalfWidth, living.getBbWidth() * 0.5);
+            maxHeight = Math.max(maxHeight, living.getBbHeight());
+        }
+    }
+
+    /**
+     * 返回包围盒与 area 相交的生物；required 中的标记必须全部具备，excluded 中的标记一个都不能有。
+     */
+    public static List<LivingEntity> query(Level level, AABB area, int required, int excluded) {
+        if (!(level instanceof ServerLevel serverLevel)) {
+            return level.getEntitiesOfClass(LivingEntity.class, area, e -> matches(flagsOf(e), required, excluded));
+        }
+
+        Grid grid = GRIDS.computeIfAbsent(serverLevel, l -> new Grid());
+        if (grid.builtTick != serverLevel.getGameTime()) {
+            grid.rebuild(serverLevel);
+        }
+
+        double horizontal = grid.maxHalfWidth + CELL_PADDING;
+        int minX = Mth.floor(area.minX - horizontal) >> CELL_SHIFT;
+        int maxX = Mth.floor(area.maxX + horizontal) >> CELL_SHIFT;
+        int minY = Mth.floor(area.minY - grid.maxHeight - CELL_PADDING) >> CELL_SHIFT;
+        int maxY = Mth.floor(area.maxY + CELL_PADDING) >> CELL_SHIFT;
+        int minZ = Mth.floor(area.minZ - horizontal) >> CELL_SHIFT;
+        int maxZ = Mth.floor(area.maxZ + horizontal) >> CELL_SHIFT;
+
+        List<LivingEntity> result = new ArrayList<>();
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    List<Entry> cell = grid.cells.get(BlockPos.asLong(x, y, z));
+                    if (cell == null) continue;
+                    for (Entry entry : cell) {
+                        if (!matches(entry.flags(), required, excluded)) continue;
+                        LivingEntity entity = entry.entity();
+                        if (entity.isRemoved() || !entity.getBoundingBox().intersects(area)) continue;
+                        result.add(entity);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public static List<LivingEntity> query(Level level, AABB area) {
+        return query(level, area, 0, 0);
+    }
+
+    private static boolean matches(int flags, int required, int excluded) {
+        return (flags & required) == required && (flags & excluded) == 0;
+    }
+
+    private static int flagsOf(LivingEntity entity) {
+        int flags = 0;
+        if (entity instanceof Enemy) flags |= HOSTILE;
+        if (entity instanceof Player) flags |= PLAYER;
+        if (entity instanceof TamableAnimal pet && pet.isTame() && pet.getOwner() != null) flags |= TAMED_PET;
+        return flags;
+    }
+
+    /**
+     * 网格已为本 tick 建立时，把新加入的生物插入所在格子；网格过期时下一次查询会整体重建，无需处理。
+     * 最低优先级监听，确保不会插入随后被取消加入的实体。
+     */
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level) || !(event.getEntity() instanceof LivingEntity living)) return;
+        Grid grid = GRIDS.get(level);
+        if (grid != null && grid.builtTick == level.getGameTime()) {
+            grid.add(living);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            GRIDS.remove(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        GRIDS.clear();
+    }
+}
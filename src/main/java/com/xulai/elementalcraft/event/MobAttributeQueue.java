@@ -0,0 +1,111 @@
+package com.xulai.elementalcraft.event;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.logic.MobAttributeLogic;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Mob;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.entity.living.MobSpawnEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 生物属性分配队列 / Per-level queue of mobs waiting for elemental attribute assignment.
+ * <p>
+ * 生物在生成（FinalizeSpawn）或进入世界（包括从区块加载）时入队，同一实例只入队一次；
+ * 每个关卡 tick 结束时在固定的时间预算内出队并调用 {@link MobAttributeLogic#processMob}，
+ * 区块加载带来的成百上千只生物会被分摊到后续若干 tick，而不是集中在一个 tick 内处理。
+ * 已带有 "ElementalCraft_AttributesSet" 标记的生物不会入队。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class MobAttributeQueue {
+
+    private static final String TAG_ATTRIBUTES_SET = "ElementalCraft_AttributesSet";
+    // 每个关卡每 tick 用于分配属性的时间上限；至少处理一只，保证队列始终前进
+    private static final long TICK_BUDGET_NANOS = 1_000_000L;
+
+    private static final Map<ServerLevel, LevelQueue> QUEUES = new IdentityHashMap<>();
+
+    private MobAttributeQueue() {
+    }
+
+    private static final class LevelQueue {
+        private final ArrayDeque<Mob> order = new ArrayDeque<>();
+        private final Set<Mob> pending = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private void add(Mob mob) {
+            if (pending.add(mob)) {
+                order.add(mob);
+            }
+        }
+    }
+
+    public static void enqueue(ServerLevel level, Mob mob) {
+        if (mob.getPersistentData().getBoolean(TAG_ATTRIBUTES_SET)) return;
+        QUEUES.computeIfAbsent(level, l -> new LevelQueue()).add(mob);
+    }
+
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public static void onFinalizeSpawn(MobSpawnEvent.FinalizeSpawn event) {
+        if (event.isCanceled()) return;
+        enqueue(event.getLevel().getLevel(), event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (event.getLevel() instanceof ServerLevel level && event.getEntity() instanceof Mob mob) {
+            enqueue(level, mob);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level) || !(event.getEntity() instanceof Mob mob)) return;
+        LevelQueue queue = QUEUES.get(level);
+        if (queue != null) {
+            // 队列中的引用在出队时跳过
+            queue.pending.remove(mob);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || !(event.level instanceof ServerLevel level)) return;
+        LevelQueue queue = QUEUES.get(level);
+        if (queue == null || queue.order.isEmpty()) return;
+
+        long deadline = System.nanoTime() + TICK_BUDGET_NANOS;
+        Mob mob;
+        while ((mob = queue.order.poll()) != null) {
+            if (!queue.pending.remove(mob)) continue;
+            // 生成被取消或尚未真正加入世界的生物在加入时会重新入队
+            if (mob.isRemoved() || !mob.isAddedToWorld() || !mob.isAlive()) continue;
+
+            MobAttributeLogic.processMob(mob);
+            if (System.nanoTime() >= deadline) break;
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            QUEUES.remove(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        QUEUES.clear();
+    }
+}
@@ -0,0 +1,95 @@
+package com.xulai.elementalcraft.event;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * 降水缓存 / Per-column precipitation and sky-exposure cache.
+ * <p>
+ * 以方块列为键，记录该列 MOTION_BLOCKING 高度图的顶部高度与地表处群系的降水类型。
+ * 每列每 tick 最多读取一次高度图；高度不变时沿用已计算的降水类型，高度变化时才重新查询群系。
+ * 位于顶部高度及以上的位置视为露天，与原版 isRainingAt 的高度图判定一致；同一列、同一 tick 的实体共享同一结果。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class PrecipitationCache {
+
+    private static final Map<ServerLevel, Long2ObjectMap<Column>> CACHE = new IdentityHashMap<>();
+
+    private PrecipitationCache() {
+    }
+
+    private static final class Column {
+        private long tick = Long.MIN_VALUE;
+        private int surfaceY = Integer.MIN_VALUE;
+        private Biome.Precipitation precipitation = Biome.Precipitation.NONE;
+    }
+
+    /**
+     * 该位置当前正在落下的降水；未下雨或不露天时为 NONE。
+     */
+    public static Biome.Precipitation getPrecipitationAt(ServerLevel level, BlockPos pos) {
+        if (!level.isRaining()) return Biome.Precipitation.NONE;
+
+        Column column = CACHE.computeIfAbsent(level, l -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(ChunkPos.asLong(pos.getX(), pos.getZ()), k -> new Column());
+        long gameTime = level.getGameTime();
+        if (column.tick != gameTime) {
+            column.tick = gameTime;
+            int surfaceY = level.getHeight(Heightmap.Types.MOTION_BLOCKING, pos.getX(), pos.getZ());
+            if (surfaceY != column.surfaceY) {
+                column.surfaceY = surfaceY;
+                BlockPos surface = new BlockPos(pos.getX(), surfaceY, pos.getZ());
+                column.precipitation = level.getBiome(surface).value().getPrecipitationAt(surface);
+            }
+        }
+        return pos.getY() >= column.surfaceY ? column.precipitation : Biome.Precipitation.NONE;
+    }
+
+    public static boolean isRainingAt(ServerLevel level, BlockPos pos) {
+        return getPrecipitationAt(level, pos) == Biome.Precipitation.RAIN;
+    }
+
+    public static boolean isSnowingAt(ServerLevel level, BlockPos pos) {
+        return getPrecipitationAt(level, pos) == Biome.Precipitation.SNOW;
+    }
+
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        Long2ObjectMap<Column> columns = CACHE.get(level);
+        if (columns == null || columns.isEmpty()) return;
+
+        ChunkPos chunkPos = event.getChunk().getPos();
+        for (int x = chunkPos.getMinBlockX(); x <= chunkPos.getMaxBlockX(); x++) {
+            for (int z = chunkPos.getMinBlockZ(); z <= chunkPos.getMaxBlockZ(); z++) {
+                columns.remove(ChunkPos.asLong(x, z));
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            CACHE.remove(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        CACHE.clear();
+    }
+}
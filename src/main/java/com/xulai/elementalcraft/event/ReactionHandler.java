@@ -1,6 +1,7 @@
 package com.xulai.elementalcraft.event;
 
 import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.capability.ElementalStatus;
 import com.xulai.elementalcraft.command.DebugCommand;
 import com.xulai.elementalcraft.config.ElementalFireNatureReactionsConfig;
 import com.xulai.elementalcraft.init.ModDamageTypes;
@@ -14,7 +15,6 @@ import com.xulai.elementalcraft.event.WetnessHandler;
 import com.xulai.elementalcraft.util.GlobalDebugLogger;
 import com.xulai.elementalcraft.util.DebugMode;
 import net.minecraft.core.particles.ParticleTypes;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.tags.DamageTypeTags;
@@ -31,7 +31,6 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.event.entity.living.LivingDamageEvent;
-import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.registries.ForgeRegistries;
@@ -46,16 +45,10 @@ public class ReactionHandler {
 
     private static final Random RANDOM = new Random();
 
-    private static final String NBT_DRAIN_COOLDOWN = "ec_drain_cd";
-    private static final String NBT_WILDFIRE_COOLDOWN = "ec_wildfire_cd";
-    private static final String NBT_SPREADED = "ec_spreaded";
-    private static final String NBT_INFECTED = "ec_infected";
-
-    @SubscribeEvent
-    public static void onLivingTick(LivingEvent.LivingTickEvent event) {
-        LivingEntity entity = event.getEntity();
-        if (entity.level().isClientSide) return;
+    private static final String COOLDOWN_DRAIN = "寄生汲取";
+    private static final String COOLDOWN_WILDFIRE = "野火喷射";
 
+    public static void tickActive(LivingEntity entity) {
         if (entity.tickCount % ElementalFireNatureReactionsConfig.contagionCheckInterval != 0) return;
 
         if (ModMobEffects.SPORES.isPresent() && ModMobEffects.SPORES.get() != null && entity.hasEffect(ModMobEffects.SPORES.get())) {
@@ -77,16 +70,17 @@ public class ReactionHandler {
     public static void onLivingDamage(LivingDamageEvent event) {
         if (event.getEntity().level().isClientSide) return;
 
-        Entity sourceEntity = event.getSource().getEntity();
-        if (!(sourceEntity instanceof LivingEntity attacker)) return;
+        DamageContext context = DamageContext.of(event);
+        LivingEntity attacker = context.attacker;
+        if (attacker == null) return;
 
         LivingEntity target = event.getEntity();
         Level level = target.level();
 
-        ElementType attackType = ElementUtils.getConsistentAttackElement(attacker);
+        ElementType attackType = context.attackElement;
 
-        double naturePower = ElementUtils.getDisplayEnhancement(attacker, ElementType.NATURE);
-        double firePower = ElementUtils.getDisplayEnhancement(attacker, ElementType.FIRE);
+        double naturePower = context.getAttackerEnhancement(ElementType.NATURE);
+        double firePower = context.getAttackerEnhancement(ElementType.FIRE);
 
         Debug.logReactionStart(attacker, target, attackType, naturePower, firePower);
 
@@ -118,7 +112,7 @@ public class ReactionHandler {
                 }
             }
 
-            if (checkCooldown(attacker, NBT_DRAIN_COOLDOWN)) {
+            if (checkCooldown(attacker, COOLDOWN_DRAIN, ElementalStatus.get(attacker).drainCooldownEnd)) {
                 int wetnessLevel = WetnessHandler.getWetnessLevel(target);
 
                 if (wetnessLevel > 0 && naturePower >= ElementalFireNatureReactionsConfig.natureSiphonThreshold) {
@@ -132,7 +126,7 @@ public class ReactionHandler {
                     && !event.getSource().is(DamageTypeTags.IS_EXPLOSION)) {
 
                 // 如果目标有潮湿效果且为自然属性生物，则跳过毒火爆燃，交由蒸汽反应处理
-                if (WetnessHandler.getWetnessLevel(target) > 0 && ElementUtils.getConsistentAttackElement(target) == ElementType.NATURE) {
+                if (WetnessHandler.getWetnessLevel(target) > 0 && context.targetElement == ElementType.NATURE) {
                     Debug.logToxicBlastSkippedForWetNature(target);
                     // 不执行毒火爆燃，蒸汽反应会在 SteamReactionHandler 中触发
                 } else if (firePower >= ElementalFireNatureReactionsConfig.blastTriggerThreshold) {
@@ -142,10 +136,11 @@ public class ReactionHandler {
                 }
             }
 
-            double victimNaturePower = ElementUtils.getDisplayEnhancement(target, ElementType.NATURE);
-            boolean isNatureTarget = ElementUtils.getConsistentAttackElement(target) == ElementType.NATURE;
-            boolean hasScorched = target.getPersistentData().contains(ScorchedHandler.NBT_SCORCHED_TICKS);
-            boolean cooldownOk = checkCooldown(target, NBT_WILDFIRE_COOLDOWN);
+            double victimNaturePower = context.targetProfile.getEnhancement(ElementType.NATURE);
+            boolean isNatureTarget = context.targetElement == ElementType.NATURE;
+            ElementalStatus targetStatus = ElementalStatus.get(target);
+            boolean hasScorched = targetStatus.scorchedActive;
+            boolean cooldownOk = checkCooldown(target, COOLDOWN_WILDFIRE, targetStatus.wildfireCooldownEnd);
             boolean powerOk = victimNaturePower >= ElementalFireNatureReactionsConfig.wildfireTriggerThreshold;
 
             Debug.logWildfireCheck(target, victimNaturePower, isNatureTarget, hasScorched, cooldownOk, powerOk);
@@ -157,9 +152,7 @@ public class ReactionHandler {
     }
 
     public static boolean isSporeImmune(LivingEntity target) {
-        String entityId = ForgeRegistries.ENTITY_TYPES.getKey(target.getType()).toString();
-        if (ElementalFireNatureReactionsConfig.cachedSporeBlacklist != null &&
-            ElementalFireNatureReactionsConfig.cachedSporeBlacklist.contains(entityId)) {
+        if (ElementalFireNatureReactionsConfig.compiledSporeBlacklist.contains(target)) {
             return true;
         }
         double natureResistance = ElementUtils.getDisplayResistance(target, ElementType.NATURE);
@@ -176,9 +169,8 @@ public class ReactionHandler {
     public static void stackSporeEffect(LivingEntity target, int layersToAdd, LivingEntity applier) {
         if (!ModMobEffects.SPORES.isPresent() || ModMobEffects.SPORES.get() == null) return;
 
-        String entityId = ForgeRegistries.ENTITY_TYPES.getKey(target.getType()).toString();
-        if (ElementalFireNatureReactionsConfig.cachedSporeBlacklist != null && ElementalFireNatureReactionsConfig.cachedSporeBlacklist.contains(entityId)) {
-            Debug.logSporeBlacklist(target, entityId);
+        if (ElementalFireNatureReactionsConfig.compiledSporeBlacklist.contains(target)) {
+            Debug.logSporeBlacklist(target, String.valueOf(ForgeRegistries.ENTITY_TYPES.getKey(target.getType())));
             return;
         }
 
@@ -227,25 +219,26 @@ public class ReactionHandler {
                         1.0F, 1.0F);
             }
 
-            if (target.getPersistentData().contains(ScorchedHandler.NBT_SCORCHED_TICKS)) {
-                int sourceFirePower = target.getPersistentData().getInt(ScorchedHandler.NBT_SCORCHED_SOURCE_FIRE_POWER);
+            ElementalStatus targetStatus = ElementalStatus.get(target);
+            if (targetStatus.scorchedActive) {
+                int sourceFirePower = targetStatus.scorchedSourceFirePower;
                 triggerToxicBlastFromScorched(target, newStacks, sourceFirePower, applier);
             }
         }
     }
 
     private static void processContagion(LivingEntity source, int stacks) {
-        CompoundTag data = source.getPersistentData();
+        ElementalStatus status = ElementalStatus.get(source);
 
-        boolean isSpreaded = data.getBoolean(NBT_SPREADED);
-        boolean isInfected = data.getBoolean(NBT_INFECTED);
+        boolean isSpreaded = status.sporeSpreaded;
+        boolean isInfected = status.sporeInfected;
 
         if (isSpreaded || isInfected) {
             Debug.logContagionBlocked(source, isSpreaded, isInfected);
             return;
         }
 
-        data.putBoolean(NBT_SPREADED, true);
+        status.sporeSpreaded = true;
 
         double radius = ElementalFireNatureReactionsConfig.contagionBaseRadius + ((stacks - ElementalFireNatureReactionsConfig.sporeReactionThreshold) * ElementalFireNatureReactionsConfig.contagionRadiusPerStack);
 
@@ -256,7 +249,8 @@ public class ReactionHandler {
         if (sourceBox == null) return;
 
         AABB area = sourceBox.inflate(radius);
-        List<LivingEntity> targets = source.level().getEntitiesOfClass(LivingEntity.class, area);
+        int required = ElementalFireNatureReactionsConfig.contagionOnlyHostile ? LivingEntityGrid.HOSTILE : 0;
+        List<LivingEntity> targets = LivingEntityGrid.query(source.level(), area, required, 0);
 
         List<LivingEntity> infectedTargets = new ArrayList<>();
 
@@ -265,12 +259,7 @@ public class ReactionHandler {
         for (LivingEntity target : targets) {
             if (target == source) continue;
 
-            if (ElementalFireNatureReactionsConfig.contagionOnlyHostile && !(target instanceof Enemy)) {
-                Debug.logContagionSkipNonHostile(target);
-                continue;
-            }
-
-            target.getPersistentData().putBoolean(NBT_INFECTED, true);
+            ElementalStatus.get(target).sporeInfected = true;
 
             int wetnessLevel = WetnessHandler.getWetnessLevel(target);
             int wetnessBonus = 0;
@@ -325,7 +314,7 @@ public class ReactionHandler {
 
         DebugCommand.sendNatureSiphonLog(attacker, target, actualDrain, healAmount);
 
-        setCooldown(attacker, NBT_DRAIN_COOLDOWN, ElementalFireNatureReactionsConfig.natureDrainCooldown);
+        ElementalStatus.get(attacker).drainCooldownEnd = cooldownEnd(attacker, COOLDOWN_DRAIN, ElementalFireNatureReactionsConfig.natureDrainCooldown);
 
         EffectHelper.playDrainEffect(attacker, target);
 
@@ -392,7 +381,7 @@ public class ReactionHandler {
                     if (targetBox == null) return;
 
                     AABB area = targetBox.inflate(radius);
-                    List<LivingEntity> nearbyEntities = level.getEntitiesOfClass(LivingEntity.class, area);
+                    List<LivingEntity> nearbyEntities = LivingEntityGrid.query(level, area);
 
                     int affectedCount = 0;
 
@@ -464,7 +453,7 @@ public class ReactionHandler {
         if (victimBox == null) return;
 
         AABB area = victimBox.inflate(radius);
-        List<LivingEntity> enemies = victim.level().getEntitiesOfClass(LivingEntity.class, area);
+        List<LivingEntity> enemies = LivingEntityGrid.query(victim.level(), area);
 
         int affectedCount = 0;
 
@@ -489,9 +478,9 @@ public class ReactionHandler {
             if (ElementalFireNatureReactionsConfig.wildfireClearBurning) {
                 enemy.clearFire();
 
-                if (enemy.getPersistentData().contains(ScorchedHandler.NBT_SCORCHED_TICKS)) {
-                    enemy.getPersistentData().remove(ScorchedHandler.NBT_SCORCHED_TICKS);
-                    enemy.getPersistentData().remove(ScorchedHandler.NBT_SCORCHED_STRENGTH);
+                ElementalStatus enemyStatus = ElementalStatus.get(enemy);
+                if (enemyStatus.scorchedActive) {
+                    enemyStatus.clearScorched();
                 }
             }
 
@@ -503,22 +492,20 @@ public class ReactionHandler {
         DebugCommand.sendWildfireLog(victim, radius, affectedCount);
         Debug.logWildfireEnd(victim, affectedCount);
 
-        setCooldown(victim, NBT_WILDFIRE_COOLDOWN, ElementalFireNatureReactionsConfig.wildfireCooldown);
+        ElementalStatus.get(victim).wildfireCooldownEnd = cooldownEnd(victim, COOLDOWN_WILDFIRE, ElementalFireNatureReactionsConfig.wildfireCooldown);
     }
 
-    private static boolean checkCooldown(LivingEntity entity, String key) {
-        CompoundTag data = entity.getPersistentData();
-        if (!data.contains(key)) return true;
+    private static boolean checkCooldown(LivingEntity entity, String key, long endTick) {
+        if (endTick == 0L) return true;
 
-        long endTick = data.getLong(key);
         boolean ready = entity.level().getGameTime() >= endTick;
         Debug.logCooldownCheck(entity, key, endTick, ready);
         return ready;
     }
 
-    private static void setCooldown(LivingEntity entity, String key, int durationTicks) {
-        entity.getPersistentData().putLong(key, entity.level().getGameTime() + durationTicks);
+    private static long cooldownEnd(LivingEntity entity, String key, int durationTicks) {
         Debug.logCooldownSet(entity, key, durationTicks);
+        return entity.level().getGameTime() + durationTicks;
     }
 
     private static int getTotalEnchantmentLevel(net.minecraft.world.item.enchantment.Enchantment ench, LivingEntity entity) {
@@ -542,9 +529,7 @@ public class ReactionHandler {
 
         triggerToxicBlast(level, killCredit, target, sourceFirePower, killCredit);
 
-        target.getPersistentData().remove(ScorchedHandler.NBT_SCORCHED_TICKS);
-        target.getPersistentData().remove(ScorchedHandler.NBT_SCORCHED_STRENGTH);
-        target.getPersistentData().remove(ScorchedHandler.NBT_SCORCHED_SOURCE_FIRE_POWER);
+        ElementalStatus.get(target).clearScorched();
         target.clearFire();
 
         DebugCommand.sendScorchedSporeReactionLog(target, killCredit, stacks);
@@ -632,11 +617,6 @@ public class ReactionHandler {
                             source.getName().getString(), stacks, radius, transferStacks, totalTargets));
         }
 
-        private static void logContagionSkipNonHostile(LivingEntity target) {
-            GlobalDebugLogger.log(target.level(), "孢子传染",
-                    String.format("跳过非敌对目标 %s", target.getName().getString()));
-        }
-
         private static void logContagionWetnessBonus(LivingEntity target, int wetness, int bonus) {
             GlobalDebugLogger.log(target.level(), "孢子传染",
                     String.format("%s 潮湿层数 %d，额外获得 %d 层孢子", target.getName().getString(), wetness, bonus));
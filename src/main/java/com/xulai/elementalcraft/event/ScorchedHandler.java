@@ -1,15 +1,15 @@
 package com.xulai.elementalcraft.event;
 
 import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.capability.ElementalStatus;
 import com.xulai.elementalcraft.config.ElementalFireNatureReactionsConfig;
 import com.xulai.elementalcraft.init.ModDamageTypes;
 import com.xulai.elementalcraft.potion.ModMobEffects;
+import com.xulai.elementalcraft.util.ElementProfile;
 import com.xulai.elementalcraft.util.ElementType;
-import com.xulai.elementalcraft.util.ElementUtils;
 import com.xulai.elementalcraft.util.GlobalDebugLogger;
 import com.xulai.elementalcraft.util.DebugMode;
 import net.minecraft.core.particles.ParticleTypes;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -19,7 +19,6 @@ import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import net.minecraft.world.item.enchantment.Enchantments;
-import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.event.entity.living.MobEffectEvent;
 import net.minecraftforge.eventbus.api.Event;
@@ -29,35 +28,24 @@ import net.minecraftforge.registries.ForgeRegistries;
 
 @Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
 public class ScorchedHandler {
-    public static final String NBT_SCORCHED_TICKS = "ec_scorched_ticks";
-    public static final String NBT_SCORCHED_STRENGTH = "ec_scorched_str";
-    public static final String NBT_SCORCHED_SOURCE_FIRE_POWER = "EC_ScorchedSourceFirePower";
-    public static final String NBT_ATTACKER_SCORCHED_COOLDOWN = "ec_scorched_attacker_cd";
-
     public static void applyScorched(LivingEntity target, LivingEntity attacker, int fireStrength, int duration, int sourceFirePower) {
         if (target.level().isClientSide) return;
-        var key = ForgeRegistries.ENTITY_TYPES.getKey(target.getType());
-        if (key == null) return;
-        String entityId = key.toString();
-        var blacklist = ElementalFireNatureReactionsConfig.cachedScorchedBlacklist;
-        if (blacklist != null && blacklist.contains(entityId)) {
-            Debug.logApplyBlacklisted(target, entityId);
+        if (ElementalFireNatureReactionsConfig.compiledScorchedBlacklist.contains(target)) {
+            Debug.logApplyBlacklisted(target, String.valueOf(ForgeRegistries.ENTITY_TYPES.getKey(target.getType())));
             return;
         }
         if (attacker != null) {
-            CompoundTag attackerData = attacker.getPersistentData();
             long gameTime = target.level().getGameTime();
-            if (attackerData.contains(NBT_ATTACKER_SCORCHED_COOLDOWN)) {
-                long cd = attackerData.getLong(NBT_ATTACKER_SCORCHED_COOLDOWN);
-                if (gameTime < cd) {
-                    Debug.logAttackerCooldown(attacker, target, cd - gameTime);
-                    return;
-                }
+            long cd = ElementalStatus.get(attacker).scorchedAttackerCooldownEnd;
+            if (gameTime < cd) {
+                Debug.logAttackerCooldown(attacker, target, cd - gameTime);
+                return;
             }
         }
-        CompoundTag targetData = target.getPersistentData();
-        if (targetData.contains(NBT_SCORCHED_TICKS) && targetData.getInt(NBT_SCORCHED_TICKS) > 0) {
-            Debug.logApplyAlreadyScorched(target, targetData.getInt(NBT_SCORCHED_TICKS));
+        ElementalStatus targetStatus = ElementalStatus.get(target);
+        int remaining = targetStatus.getScorchedRemaining(target.level().getGameTime());
+        if (remaining > 0) {
+            Debug.logApplyAlreadyScorched(target, remaining);
             return;
         }
 
@@ -77,15 +65,17 @@ public class ScorchedHandler {
 
         if (adjustedDuration < 1) adjustedDuration = 1;
         long gameTime = target.level().getGameTime();
-        targetData.putInt(NBT_SCORCHED_TICKS, adjustedDuration);
-        targetData.putInt(NBT_SCORCHED_STRENGTH, fireStrength);
-        targetData.putInt(NBT_SCORCHED_SOURCE_FIRE_POWER, sourceFirePower);
+        targetStatus.scorchedActive = true;
+        targetStatus.scorchedEnd = gameTime + adjustedDuration;
+        targetStatus.scorchedStrength = fireStrength;
+        targetStatus.scorchedSourceFirePower = sourceFirePower;
 
         if (attacker != null) {
-            CompoundTag attackerData = attacker.getPersistentData();
-            attackerData.putLong(NBT_ATTACKER_SCORCHED_COOLDOWN, gameTime + ElementalFireNatureReactionsConfig.scorchedCooldown);
+            ElementalStatus.get(attacker).scorchedAttackerCooldownEnd = gameTime + ElementalFireNatureReactionsConfig.scorchedCooldown;
         }
 
+        ActiveElementalEntities.track(target);
+        ElementalTimers.schedule(target, ElementalTimers.Kind.SCORCHED_EXPIRY, targetStatus.scorchedEnd);
         target.setRemainingFireTicks(adjustedDuration);
         Debug.logApplySuccess(target, attacker, fireStrength, adjustedDuration, sourceFirePower, isNature, isFrost);
 
@@ -95,51 +85,30 @@ public class ScorchedHandler {
     }
 
     private static boolean isNatureAligned(LivingEntity entity) {
-        return ElementUtils.getConsistentAttackElement(entity) == ElementType.NATURE;
+        return ElementProfile.of(entity).getConsistentAttackElement() == ElementType.NATURE;
     }
 
     private static boolean isFrostAligned(LivingEntity entity) {
-        return ElementUtils.getConsistentAttackElement(entity) == ElementType.FROST;
+        return ElementProfile.of(entity).getConsistentAttackElement() == ElementType.FROST;
     }
 
-    @SubscribeEvent
-    public static void onLivingTick(LivingEvent.LivingTickEvent event) {
-        LivingEntity entity = event.getEntity();
-        if (entity.level().isClientSide) return;
-
-        CompoundTag data = entity.getPersistentData();
-        if (data.contains(NBT_ATTACKER_SCORCHED_COOLDOWN)) {
-            long cd = data.getLong(NBT_ATTACKER_SCORCHED_COOLDOWN);
-            if (entity.level().getGameTime() >= cd) {
-                data.remove(NBT_ATTACKER_SCORCHED_COOLDOWN);
-            }
-        }
-
-        if (!data.contains(NBT_SCORCHED_TICKS)) return;
-        int ticks = data.getInt(NBT_SCORCHED_TICKS);
-
-        if (ticks <= 0) {
-            entity.clearFire();
-            data.remove(NBT_SCORCHED_TICKS);
-            data.remove(NBT_SCORCHED_STRENGTH);
-            data.remove(NBT_SCORCHED_SOURCE_FIRE_POWER);
-            Debug.logTickExpired(entity);
-            return;
-        }
+    public static void tickActive(LivingEntity entity) {
+        ElementalStatus status = ElementalStatus.get(entity);
+        if (!status.scorchedActive) return;
+        ServerLevel level = (ServerLevel) entity.level();
+        // 到期清除由 ElementalTimers 回调 onScorchedExpired 完成
+        int ticks = status.getScorchedRemaining(level.getGameTime());
+        if (ticks <= 0) return;
 
-        int resistPoints = ElementUtils.getDisplayResistance(entity, ElementType.FIRE);
+        int resistPoints = ElementProfile.of(entity).getResistance(ElementType.FIRE);
         if (resistPoints >= ElementalFireNatureReactionsConfig.scorchedResistThreshold) {
             entity.clearFire();
-            data.remove(NBT_SCORCHED_TICKS);
-            data.remove(NBT_SCORCHED_STRENGTH);
-            data.remove(NBT_SCORCHED_SOURCE_FIRE_POWER);
+            status.clearScorched();
             Debug.logDamageImmune(entity, resistPoints);
             return;
         }
 
-        data.putInt(NBT_SCORCHED_TICKS, ticks - 1);
-        int fireStrength = data.getInt(NBT_SCORCHED_STRENGTH);
-        ServerLevel level = (ServerLevel) entity.level();
+        int fireStrength = status.scorchedStrength;
 
         if (entity.isInWater()) {
             Debug.logTickWater(entity, ticks, fireStrength);
@@ -162,10 +131,16 @@ public class ScorchedHandler {
         }
     }
 
+    static void onScorchedExpired(LivingEntity entity) {
+        entity.clearFire();
+        ElementalStatus.get(entity).clearScorched();
+        Debug.logTickExpired(entity);
+    }
+
     @SubscribeEvent
     public static void onEffectApplicable(MobEffectEvent.Applicable event) {
         if (event.getEffectInstance().getEffect() == ModMobEffects.WETNESS.get()) {
-            boolean blocked = event.getEntity().getPersistentData().contains(NBT_SCORCHED_TICKS);
+            boolean blocked = ElementalStatus.get(event.getEntity()).scorchedActive;
             Debug.logEffectApplicable(event.getEntity(), blocked);
             if (blocked) {
                 event.setResult(Event.Result.DENY);
@@ -177,7 +152,7 @@ public class ScorchedHandler {
     public static void onLivingHurt(LivingHurtEvent event) {
         LivingEntity entity = event.getEntity();
         if (entity.level().isClientSide) return;
-        if (!entity.getPersistentData().contains(NBT_SCORCHED_TICKS)) return;
+        if (!ElementalStatus.get(entity).scorchedActive) return;
         DamageSource source = event.getSource();
         if (source.is(DamageTypeTags.IS_FIRE) && !source.is(ModDamageTypes.LAVA_MAGIC)) {
             Debug.logFireDamageCancelled(entity, source);
@@ -198,16 +173,13 @@ public class ScorchedHandler {
         }
 
         entity.clearFire();
-        CompoundTag data = entity.getPersistentData();
-        data.remove(NBT_SCORCHED_TICKS);
-        data.remove(NBT_SCORCHED_STRENGTH);
-        data.remove(NBT_SCORCHED_SOURCE_FIRE_POWER);
+        ElementalStatus.get(entity).clearScorched();
         level.playSound(null, entity.getX(), entity.getY(), entity.getZ(), SoundEvents.GENERIC_EXPLODE, SoundSource.PLAYERS, 0.5f, 2.0f);
         level.sendParticles(ParticleTypes.CLOUD, entity.getX(), entity.getY() + entity.getBbHeight() * 0.5, entity.getZ(), 20, 0.5, 0.5, 0.5, 0.05);
     }
 
     private static float calculateScorchedDamage(int fireStrength, LivingEntity target) {
-        int resistPoints = ElementUtils.getDisplayResistance(target, ElementType.FIRE);
+        int resistPoints = ElementProfile.of(target).getResistance(ElementType.FIRE);
         if (resistPoints >= ElementalFireNatureReactionsConfig.scorchedResistThreshold) {
             Debug.logDamageImmune(target, resistPoints);
             return 0.0f;
@@ -1,19 +1,18 @@
 package com.xulai.elementalcraft.event;
 
 import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.capability.ElementalStatus;
 import com.xulai.elementalcraft.command.DebugCommand;
 import net.minecraft.world.entity.LightningBolt;
 import com.xulai.elementalcraft.config.ElementalThunderFrostReactionsConfig;
 import com.xulai.elementalcraft.init.ModDamageTypes;
 import com.xulai.elementalcraft.potion.ModMobEffects;
 import com.xulai.elementalcraft.sound.ModSounds;
+import com.xulai.elementalcraft.util.ElementProfile;
 import com.xulai.elementalcraft.util.ElementType;
-import com.xulai.elementalcraft.util.ElementUtils;
-import com.xulai.elementalcraft.event.WetnessHandler;
 import com.xulai.elementalcraft.util.GlobalDebugLogger;
 import com.xulai.elementalcraft.util.DebugMode;
 import com.xulai.elementalcraft.util.EffectHelper;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.core.particles.ParticleTypes;
@@ -21,14 +20,10 @@ import net.minecraft.core.particles.DustParticleOptions;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.entity.LivingEntity;
-import net.minecraft.world.entity.TamableAnimal;
-import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.phys.AABB;
 import net.minecraftforge.event.entity.living.LivingDamageEvent;
-import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.registries.ForgeRegistries;
 import org.joml.Vector3f;
 import java.util.Random;
 import net.minecraftforge.api.distmarker.Dist;
@@ -42,52 +37,43 @@ import org.lwjgl.glfw.GLFW;
 public class StaticShockHandler {
     private static final Random RANDOM = new Random();
 
-    private static final String NBT_STATIC_STACKS = "ec_static_stacks";
-    private static final String NBT_STATIC_TIMER = "ec_static_timer";
-    private static final String NBT_STATIC_DAMAGE_TIMER = "ec_static_damage_timer";
-    private static final String NBT_PARALYSIS_STACKS = "ec_paralysis_stacks";
-    private static final String NBT_PARALYSIS_TIMER = "ec_paralysis_timer";
-    private static final String NBT_FROM_SPREAD = "ec_from_spread"; 
-
     private static boolean isImmuneToStatic(LivingEntity entity) {
-        String entityId = ForgeRegistries.ENTITY_TYPES.getKey(entity.getType()).toString();
-        if (ElementalThunderFrostReactionsConfig.cachedStaticImmunityBlacklist.contains(entityId)) {
+        if (ElementalThunderFrostReactionsConfig.compiledStaticImmunityBlacklist.contains(entity)) {
             return true;
         }
-        int resist = ElementUtils.getDisplayResistance(entity, ElementType.THUNDER);
+        int resist = ElementProfile.of(entity).getResistance(ElementType.THUNDER);
         return resist >= ElementalThunderFrostReactionsConfig.staticResistImmunityThreshold;
     }
 
     private static boolean isImmuneToParalysis(LivingEntity entity) {
-        String entityId = ForgeRegistries.ENTITY_TYPES.getKey(entity.getType()).toString();
-        return ElementalThunderFrostReactionsConfig.cachedParalysisImmunityBlacklist.contains(entityId);
+        return ElementalThunderFrostReactionsConfig.compiledParalysisImmunityBlacklist.contains(entity);
     }
 
     @SubscribeEvent
     public static void onLivingDamage(LivingDamageEvent event) {
         if (event.getEntity().level().isClientSide) return;
-        if (!(event.getSource().getEntity() instanceof LivingEntity attacker)) return;
+        DamageContext context = DamageContext.of(event);
+        LivingEntity attacker = context.attacker;
+        if (attacker == null) return;
         LivingEntity target = event.getEntity();
 
         if (isImmuneToStatic(target)) {
             clearStaticShock(target);
-            String entityId = ForgeRegistries.ENTITY_TYPES.getKey(target.getType()).toString();
-            boolean isBlacklisted = ElementalThunderFrostReactionsConfig.cachedStaticImmunityBlacklist.contains(entityId);
+            boolean isBlacklisted = ElementalThunderFrostReactionsConfig.compiledStaticImmunityBlacklist.contains(target);
             if (isBlacklisted) {
                 Debug.logBlacklistImmune(target);
             } else {
-                int resist = ElementUtils.getDisplayResistance(target, ElementType.THUNDER);
+                int resist = context.targetProfile.getResistance(ElementType.THUNDER);
                 Debug.logImmune(target, resist);
             }
             return;
         }
 
-        ElementType consistentElement = ElementUtils.getConsistentAttackElement(attacker);
-        if (consistentElement != ElementType.THUNDER) {
+        if (context.attackElement != ElementType.THUNDER) {
             return;
         }
         
-        int thunderStrength = ElementUtils.getDisplayEnhancement(attacker, ElementType.THUNDER);
+        int thunderStrength = context.getAttackerEnhancement(ElementType.THUNDER);
         int threshold = ElementalThunderFrostReactionsConfig.thunderStrengthThreshold;
         if (thunderStrength < threshold) {
             Debug.logStrengthBelowThreshold(attacker, thunderStrength, threshold);
@@ -109,9 +95,9 @@ public class StaticShockHandler {
         
         if (!triggered) return;
 
+        ElementalStatus status = ElementalStatus.get(target);
         if (wetnessLevel > 0) {
-            CompoundTag data = target.getPersistentData();
-            int currentStacks = data.getInt(NBT_STATIC_STACKS);
+            int currentStacks = status.staticStacks;
             int maxStacks = ElementalThunderFrostReactionsConfig.staticMaxTotalStacks;
             if (currentStacks >= maxStacks) {
                 Debug.logMaxStacksReached(target, currentStacks);
@@ -121,16 +107,15 @@ public class StaticShockHandler {
             int newStacks = Math.min(maxStacks, currentStacks + addStacks);
             int durationPerStack = ElementalThunderFrostReactionsConfig.staticDurationPerStackTicks;
             int addTicks = addStacks * durationPerStack;
-            int newTotalTicks = data.getInt(NBT_STATIC_TIMER) + addTicks;
-            data.putInt(NBT_STATIC_STACKS, newStacks);
-            data.putInt(NBT_STATIC_TIMER, newTotalTicks);
+            int newTotalTicks = extendStatic(target, status, addTicks);
+            status.staticStacks = newStacks;
+            ActiveElementalEntities.track(target);
             Debug.logStaticApplied(target, currentStacks, newStacks, newTotalTicks, wetnessLevel);
             triggerParalysisReaction(attacker, target);
             return;
         }
 
-        CompoundTag data = target.getPersistentData();
-        int currentStacks = data.getInt(NBT_STATIC_STACKS);
+        int currentStacks = status.staticStacks;
         int maxStacks = ElementalThunderFrostReactionsConfig.staticMaxTotalStacks;
         if (currentStacks >= maxStacks) {
             Debug.logMaxStacksReached(target, currentStacks);
@@ -140,30 +125,51 @@ public class StaticShockHandler {
         int newStacks = Math.min(maxStacks, currentStacks + addStacks);
         int durationPerStack = ElementalThunderFrostReactionsConfig.staticDurationPerStackTicks;
         int addTicks = addStacks * durationPerStack;
-        int currentTimer = data.getInt(NBT_STATIC_TIMER);
-        int newTotalTicks = currentTimer + addTicks;
-        data.putInt(NBT_STATIC_STACKS, newStacks);
-        data.putInt(NBT_STATIC_TIMER, newTotalTicks);
-        data.putInt(NBT_STATIC_DAMAGE_TIMER, data.getInt(NBT_STATIC_DAMAGE_TIMER));
-        data.remove(NBT_FROM_SPREAD);
+        int newTotalTicks = extendStatic(target, status, addTicks);
+        status.staticStacks = newStacks;
+        status.staticFromSpread = false;
+        ActiveElementalEntities.track(target);
         Debug.logStaticApplied(target, currentStacks, newStacks, newTotalTicks, 0);
         updateEffect(target, newStacks, newTotalTicks);
     }
 
-    @SubscribeEvent
-    public static void onLivingTick(LivingEvent.LivingTickEvent event) {
-        LivingEntity entity = event.getEntity();
-        if (entity.level().isClientSide) return;
+    /**
+     * 延长静电截止时间并安排到期回调，返回新的剩余 tick 数；从无到有时重新开始伤害间隔计时。
+     */
+    private static int extendStatic(LivingEntity entity, ElementalStatus status, int addTicks) {
+        long now = entity.level().getGameTime();
+        if (!status.staticActive) {
+            status.staticActive = true;
+            status.staticEnd = now;
+            status.staticNextDamageTick = now + getDamageInterval();
+        }
+        status.staticEnd = Math.max(status.staticEnd, now) + addTicks;
+        ElementalTimers.schedule(entity, ElementalTimers.Kind.STATIC_EXPIRY, status.staticEnd);
+        return (int) (status.staticEnd - now);
+    }
 
+    private static int getDamageInterval() {
+        return Math.max(1, ElementalThunderFrostReactionsConfig.staticDamageIntervalTicks);
+    }
+
+    /**
+     * 静电到期回调（由 {@link ElementalTimers} 触发）。
+     */
+    static void onStaticExpired(LivingEntity entity) {
+        clearStaticShock(entity);
+    }
+
+    public static void tickActive(LivingEntity entity) {
         if (isImmuneToStatic(entity)) {
             clearStaticShock(entity);
             return;
         }
 
-        CompoundTag data = entity.getPersistentData();
+        ElementalStatus status = ElementalStatus.get(entity);
+        long now = entity.level().getGameTime();
 
         MobEffectInstance effectInstance = entity.getEffect(ModMobEffects.STATIC_SHOCK.get());
-        if (effectInstance != null && !data.contains(NBT_STATIC_STACKS)) {
+        if (effectInstance != null && !status.staticActive) {
             int amplifier = effectInstance.getAmplifier();
             int remainingTicks = effectInstance.getDuration();
             int stacks = amplifier + 1;
@@ -175,12 +181,11 @@ public class StaticShockHandler {
                 stacks = Math.max(1, remainingTicks / durationPerStack);
                 amplifier = stacks - 1;
             }
-            data.putInt(NBT_STATIC_STACKS, stacks);
-            data.putInt(NBT_STATIC_TIMER, remainingTicks);
-            data.putInt(NBT_STATIC_DAMAGE_TIMER, 0);
-            if (!data.contains(NBT_FROM_SPREAD)) {
-                data.putBoolean(NBT_FROM_SPREAD, false);
-            }
+            status.staticActive = true;
+            status.staticStacks = stacks;
+            status.staticEnd = now + remainingTicks;
+            status.staticNextDamageTick = now + getDamageInterval();
+            ElementalTimers.schedule(entity, ElementalTimers.Kind.STATIC_EXPIRY, status.staticEnd);
             Debug.logSyncFromEffect(entity, stacks, remainingTicks);
             if (effectInstance.getDuration() != remainingTicks || effectInstance.getAmplifier() != amplifier) {
                 entity.removeEffect(ModMobEffects.STATIC_SHOCK.get());
@@ -195,33 +200,28 @@ public class StaticShockHandler {
             }
         }
 
-        if (!data.contains(NBT_STATIC_STACKS)) {
+        if (!status.staticActive) {
             if (entity.hasEffect(ModMobEffects.STATIC_SHOCK.get())) {
                 entity.removeEffect(ModMobEffects.STATIC_SHOCK.get());
             }
             return;
         }
 
-        int stacks = data.getInt(NBT_STATIC_STACKS);
+        int stacks = status.staticStacks;
         if (stacks <= 0) {
             clearStaticShock(entity);
             return;
         }
 
-        int totalTimer = data.getInt(NBT_STATIC_TIMER);
-
-        int damageTimer = data.getInt(NBT_STATIC_DAMAGE_TIMER);
-        int interval = ElementalThunderFrostReactionsConfig.staticDamageIntervalTicks;
-        if (interval < 1) interval = 1;
+        // 到期清除由 ElementalTimers 回调 onStaticExpired 完成
+        int totalTimer = status.getStaticRemaining(now);
+        if (totalTimer <= 0) return;
 
-        damageTimer++;
-        if (damageTimer >= interval) {
-            if (totalTimer > 0) {
-                triggerStaticDamage(entity);
-            }
-            damageTimer = 0;
+        if (now >= status.staticNextDamageTick) {
+            status.staticNextDamageTick = now + getDamageInterval();
+            triggerStaticDamage(entity);
+            if (!status.staticActive) return;
         }
-        data.putInt(NBT_STATIC_DAMAGE_TIMER, damageTimer);
 
         boolean hasWetness = entity.hasEffect(ModMobEffects.WETNESS.get());
         int wetnessLevel = 0;
@@ -237,22 +237,12 @@ public class StaticShockHandler {
             return;
         }
 
-        if (totalTimer > 0) {
-            totalTimer--;
-            data.putInt(NBT_STATIC_TIMER, totalTimer);
-        }
-
         int durationPerStack = ElementalThunderFrostReactionsConfig.staticDurationPerStackTicks;
         int newStacks = (int) Math.ceil((double) totalTimer / durationPerStack);
         if (newStacks < 1) newStacks = 1;
         if (newStacks != stacks) {
             Debug.logStackDecay(entity, stacks, newStacks);
-            data.putInt(NBT_STATIC_STACKS, newStacks);
-        }
-
-        if (totalTimer <= 0) {
-            clearStaticShock(entity);
-            return;
+            status.staticStacks = newStacks;
         }
 
         updateEffect(entity, newStacks, totalTimer);
@@ -297,7 +287,7 @@ public class StaticShockHandler {
         if (maxDmg < minDmg) maxDmg = minDmg;
         float damage = (float) (minDmg + RANDOM.nextDouble() * (maxDmg - minDmg));
 
-        ElementType element = ElementUtils.getElementType(entity);
+        ElementType element = ElementProfile.of(entity).getDominantElement();
         if (element == ElementType.NATURE) {
             damage *= (float) ElementalThunderFrostReactionsConfig.staticDamageNatureMultiplier;
         } else if (element == ElementType.FROST) {
@@ -329,11 +319,7 @@ public class StaticShockHandler {
     }
 
     private static void clearStaticShock(LivingEntity entity) {
-        CompoundTag data = entity.getPersistentData();
-        data.remove(NBT_STATIC_STACKS);
-        data.remove(NBT_STATIC_TIMER);
-        data.remove(NBT_STATIC_DAMAGE_TIMER);
-        data.remove(NBT_FROM_SPREAD);
+        ElementalStatus.get(entity).clearStatic();
         if (entity.hasEffect(ModMobEffects.STATIC_SHOCK.get())) {
             entity.removeEffect(ModMobEffects.STATIC_SHOCK.get());
         }
@@ -370,9 +356,9 @@ public class StaticShockHandler {
             return;
         }
 
-        CompoundTag data = entity.getPersistentData();
-        int staticStacks = data.getInt(NBT_STATIC_STACKS);
-        int totalTimer = data.getInt(NBT_STATIC_TIMER);
+        ElementalStatus status = ElementalStatus.get(entity);
+        int staticStacks = status.staticStacks;
+        int totalTimer = status.getStaticRemaining(entity.level().getGameTime());
         if (staticStacks <= 0 || totalTimer <= 0) return;
 
         int wetnessLevel = 0;
@@ -389,8 +375,7 @@ public class StaticShockHandler {
             paralysisStacks = maxParalysisStacks;
         }
 
-        int interval = ElementalThunderFrostReactionsConfig.staticDamageIntervalTicks;
-        if (interval < 1) interval = 1;
+        int interval = getDamageInterval();
         int remainingTicks = totalTimer;
         int remainingHits = (remainingTicks + interval - 1) / interval; 
 
@@ -411,9 +396,9 @@ public class StaticShockHandler {
         if (entity.hasEffect(ModMobEffects.WETNESS.get())) {
             entity.removeEffect(ModMobEffects.WETNESS.get());
         }
-        WetnessHandler.updateWetnessLevel(entity, 0);
-        data.remove(WetnessHandler.NBT_RAIN_TIMER);
-        data.remove(WetnessHandler.NBT_DECAY_TIMER);
+        status.setWetness(0);
+        status.wetnessRainTimer = 0;
+        status.wetnessDecayTimer = 0;
 
         int paralysisDuration = ElementalThunderFrostReactionsConfig.paralysisDurationPerStackTicks * paralysisStacks;
         entity.addEffect(new MobEffectInstance(
@@ -424,8 +409,9 @@ public class StaticShockHandler {
                 false,
                 true
         ));
-        data.putInt(NBT_PARALYSIS_STACKS, paralysisStacks);
-        data.putInt(NBT_PARALYSIS_TIMER, paralysisDuration);
+        status.paralysisStacks = paralysisStacks;
+        status.paralysisEnd = entity.level().getGameTime() + paralysisDuration;
+        ElementalTimers.schedule(entity, ElementalTimers.Kind.PARALYSIS_EXPIRY, status.paralysisEnd);
 
         if (!entity.level().isClientSide) {
             entity.level().playSound(null, entity.getX(), entity.getY(), entity.getZ(),
@@ -435,11 +421,11 @@ public class StaticShockHandler {
     }
 
     private static void applySplashDamage(LivingEntity source, float originalDamage, DamageSource damageSource) {
-        CompoundTag data = source.getPersistentData();
-        int stacks = data.getInt(NBT_STATIC_STACKS);
+        ElementalStatus status = ElementalStatus.get(source);
+        int stacks = status.staticStacks;
         if (stacks <= 0) return;
 
-        boolean fromSpread = data.getBoolean(NBT_FROM_SPREAD);
+        boolean fromSpread = status.staticFromSpread;
         if (fromSpread && !ElementalThunderFrostReactionsConfig.staticSplashAllowFromSpread) {
             Debug.logSplashSkipFromSpread(source);
             return;
@@ -456,7 +442,9 @@ public class StaticShockHandler {
                 source.getX() - range, source.getY() - range, source.getZ() - range,
                 source.getX() + range, source.getY() + range, source.getZ() + range
         );
-        java.util.List<LivingEntity> nearby = source.level().getEntitiesOfClass(LivingEntity.class, area);
+        int excluded = (ElementalThunderFrostReactionsConfig.staticSplashExcludePlayers ? LivingEntityGrid.PLAYER : 0)
+                | (ElementalThunderFrostReactionsConfig.staticSplashExcludePets ? LivingEntityGrid.TAMED_PET : 0);
+        java.util.List<LivingEntity> nearby = LivingEntityGrid.query(source.level(), area, 0, excluded);
 
         int affectedCount = 0;
         int paralysisCount = 0;
@@ -465,21 +453,10 @@ public class StaticShockHandler {
             if (target.isDeadOrDying()) continue;
 
             if (isImmuneToStatic(target)) {
-                Debug.logSplashImmune(target, ElementUtils.getDisplayResistance(target, ElementType.THUNDER));
+                Debug.logSplashImmune(target, ElementProfile.of(target).getResistance(ElementType.THUNDER));
                 continue;
             }
 
-            if (ElementalThunderFrostReactionsConfig.staticSplashExcludePlayers && target instanceof Player) {
-                Debug.logSplashExclude(target, "玩家");
-                continue;
-            }
-            if (ElementalThunderFrostReactionsConfig.staticSplashExcludePets && target instanceof TamableAnimal pet) {
-                if (pet.isTame() && pet.getOwner() != null) {
-                    Debug.logSplashExclude(target, "宠物");
-                    continue;
-                }
-            }
-
             boolean targetHasStatic = target.hasEffect(ModMobEffects.STATIC_SHOCK.get());
             if (ElementalThunderFrostReactionsConfig.staticSplashSkipIfTargetHasStatic && targetHasStatic) {
                 Debug.logSplashSkipHasStatic(target);
@@ -525,8 +502,8 @@ public class StaticShockHandler {
             return;
         }
 
-        CompoundTag targetData = target.getPersistentData();
-        int staticStacks = targetData.getInt(NBT_STATIC_STACKS);
+        ElementalStatus targetStatus = ElementalStatus.get(target);
+        int staticStacks = targetStatus.staticStacks;
         int wetnessLevel = 0;
         MobEffectInstance wetnessEffect = target.getEffect(ModMobEffects.WETNESS.get());
         if (wetnessEffect != null) {
@@ -539,9 +516,8 @@ public class StaticShockHandler {
             paralysisStacks = maxParalysisStacks;
         }
 
-        int totalTimer = targetData.getInt(NBT_STATIC_TIMER);
-        int interval = ElementalThunderFrostReactionsConfig.staticDamageIntervalTicks;
-        if (interval < 1) interval = 1;
+        int totalTimer = targetStatus.getStaticRemaining(target.level().getGameTime());
+        int interval = getDamageInterval();
         int remainingHits = (totalTimer + interval - 1) / interval;
         double totalDamage = 0;
         for (int i = 0; i < remainingHits; i++) {
@@ -560,9 +536,9 @@ public class StaticShockHandler {
         if (target.hasEffect(ModMobEffects.WETNESS.get())) {
             target.removeEffect(ModMobEffects.WETNESS.get());
         }
-        WetnessHandler.updateWetnessLevel(target, 0);
-        targetData.remove(WetnessHandler.NBT_RAIN_TIMER);
-        targetData.remove(WetnessHandler.NBT_DECAY_TIMER);
+        targetStatus.setWetness(0);
+        targetStatus.wetnessRainTimer = 0;
+        targetStatus.wetnessDecayTimer = 0;
 
         int paralysisDuration = ElementalThunderFrostReactionsConfig.paralysisDurationPerStackTicks * paralysisStacks;
         target.addEffect(new MobEffectInstance(
@@ -573,8 +549,9 @@ public class StaticShockHandler {
                 false,
                 true
         ));
-        targetData.putInt(NBT_PARALYSIS_STACKS, paralysisStacks);
-        targetData.putInt(NBT_PARALYSIS_TIMER, paralysisDuration);
+        targetStatus.paralysisStacks = paralysisStacks;
+        targetStatus.paralysisEnd = target.level().getGameTime() + paralysisDuration;
+        ElementalTimers.schedule(target, ElementalTimers.Kind.PARALYSIS_EXPIRY, targetStatus.paralysisEnd);
 
         if (!target.level().isClientSide) {
             target.level().playSound(null, target.getX(), target.getY(), target.getZ(),
@@ -723,12 +700,6 @@ public class StaticShockHandler {
                             ElementalThunderFrostReactionsConfig.staticResistImmunityThreshold));
         }
 
-        private static void logSplashExclude(LivingEntity target, String reason) {
-            if (!DebugMode.hasAnyDebugEnabled()) return;
-            GlobalDebugLogger.log(target.level(), "静电传导",
-                    String.format("排除 %s：%s", target.getName().getString(), reason));
-        }
-
         private static void logSplashSkipHasStatic(LivingEntity target) {
             if (!DebugMode.hasAnyDebugEnabled()) return;
             GlobalDebugLogger.log(target.level(), "静电传导",
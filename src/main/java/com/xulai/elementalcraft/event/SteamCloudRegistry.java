@@ -0,0 +1,168 @@
+package com.xulai.elementalcraft.event;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.config.ElementalFireNatureReactionsConfig;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.AreaEffectCloud;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.event.entity.EntityJoinLevelEvent;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 蒸汽云注册表 / Per-level registry of {@link SteamCloudState} records.
+ * <p>
+ * 云进入世界时解析一次标记（等级、是否高温）并登记，离开世界（消散、被移除或随区块卸载）时按实体身份直接移除。
+ * 每条记录按判定范围挂入 16 格立方分桶，"实体是否在任意蒸汽云内"只需检查实体所在分桶中的少数几朵云。
+ * 云上的字符串标记只用于随实体存档，重新加载后由这里恢复出记录。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class SteamCloudRegistry {
+
+    private static final Map<ServerLevel, LevelClouds> REGISTRY = new IdentityHashMap<>();
+
+    private SteamCloudRegistry() {
+    }
+
+    private static final class LevelClouds {
+        private final Map<AreaEffectCloud, SteamCloudState> byCloud = new IdentityHashMap<>();
+        private final Long2ObjectMap<List<SteamCloudState>> buckets = new Long2ObjectOpenHashMap<>();
+
+        private void add(SteamCloudState state) {
+            byCloud.put(state.cloud, state);
+            for (long key : state.buckets) {
+                buckets.computeIfAbsent(key, k -> new ArrayList<>(2)).add(state);
+            }
+        }
+
+        private void remove(AreaEffectCloud cloud) {
+            SteamCloudState state = byCloud.remove(cloud);
+            if (state == null) return;
+            for (long key : state.buckets) {
+                List<SteamCloudState> bucket = buckets.get(key);
+                if (bucket == null) continue;
+                bucket.remove(state);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * 该关卡当前登记的所有蒸汽云；调用方不得在遍历期间增删云。
+     */
+    public static Collection<SteamCloudState> getClouds(ServerLevel level) {
+        LevelClouds clouds = REGISTRY.get(level);
+        return clouds == null ? Collections.emptyList() : clouds.byCloud.values();
+    }
+
+    public static SteamCloudState get(AreaEffectCloud cloud) {
+        if (!(cloud.level() instanceof ServerLevel level)) return null;
+        LevelClouds clouds = REGISTRY.get(level);
+        return clouds == null ? null : clouds.byCloud.get(cloud);
+    }
+
+    /**
+     * 实体是否位于任意一朵蒸汽云的判定范围内。
+     */
+    public static boolean isInAnyCloud(LivingEntity entity) {
+        if (!(entity.level() instanceof ServerLevel level)) return false;
+        LevelClouds clouds = REGISTRY.get(level);
+        if (clouds == null || clouds.byCloud.isEmpty()) return false;
+
+        long gameTime = level.getGameTime();
+        for (long key : SteamCloudState.bucketsOf(entity.getBoundingBox())) {
+            List<SteamCloudState> bucket = clouds.buckets.get(key);
+            if (bucket == null) continue;
+            for (SteamCloudState state : bucket) {
+                if (!state.isExpired(gameTime) && state.contains(entity)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 移除已消散但未收到离开事件的记录（兜底，由定期的云粒子刷新调用）。
+     */
+    static void pruneExpired(ServerLevel level) {
+        LevelClouds clouds = REGISTRY.get(level);
+        if (clouds == null || clouds.byCloud.isEmpty()) return;
+
+        long gameTime = level.getGameTime();
+        List<AreaEffectCloud> expired = null;
+        for (SteamCloudState state : clouds.byCloud.values()) {
+            if (state.isExpired(gameTime)) {
+                if (expired == null) expired = new ArrayList<>();
+                expired.add(state.cloud);
+            }
+        }
+        if (expired != null) {
+            expired.forEach(clouds::remove);
+        }
+    }
+
+    private static int parseLevel(AreaEffectCloud cloud) {
+        for (String tag : cloud.getTags()) {
+            if (tag.startsWith(SteamReactionHandler.TAG_LEVEL_PREFIX)) {
+                try {
+                    return Integer.parseInt(tag.substring(SteamReactionHandler.TAG_LEVEL_PREFIX.length()));
+                } catch (NumberFormatException ignored) {
+                }
+                break;
+            }
+        }
+        return 1;
+    }
+
+    @SubscribeEvent
+    public static void onCloudJoin(EntityJoinLevelEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        if (!(event.getEntity() instanceof AreaEffectCloud cloud)) return;
+        if (!cloud.getTags().contains(SteamReactionHandler.TAG_STEAM_CLOUD)) return;
+
+        boolean highHeat = cloud.getTags().contains(SteamReactionHandler.TAG_HIGH_HEAT);
+        SteamCloudState state = new SteamCloudState(cloud, highHeat, parseLevel(cloud), level.getGameTime(),
+                ElementalFireNatureReactionsConfig.steamCloudHeightCeiling);
+        LevelClouds clouds = REGISTRY.computeIfAbsent(level, l -> new LevelClouds());
+        clouds.remove(cloud);
+        clouds.add(state);
+    }
+
+    @SubscribeEvent
+    public static void onCloudLeave(EntityLeaveLevelEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        if (!(event.getEntity() instanceof AreaEffectCloud cloud)) return;
+
+        LevelClouds clouds = REGISTRY.get(level);
+        if (clouds != null) {
+            clouds.remove(cloud);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            REGISTRY.remove(level);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        REGISTRY.clear();
+    }
+}
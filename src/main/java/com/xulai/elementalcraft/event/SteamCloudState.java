@@ -0,0 +1,84 @@
+package com.xulai.elementalcraft.event;
+
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.entity.AreaEffectCloud;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * 蒸汽云状态 / Typed record of a registered steam cloud.
+ * <p>
+ * 在云进入世界时由 {@link SteamCloudRegistry} 根据云的标记解析一次，之后不再读取字符串标记。
+ * 蒸汽云不会移动也不会改变半径，因此判定范围与其覆盖的空间分桶（16 格立方，与区块区段对齐）在创建时即可确定。
+ */
+public final class SteamCloudState {
+
+    public final AreaEffectCloud cloud;
+    /** 高温蒸汽云；否则为冷凝云 */
+    public final boolean highHeat;
+    public final int level;
+    public final float radius;
+    /** 云消失时的游戏时间 */
+    public final long expiry;
+    public final Vec3 center;
+    /** 高温云的烫伤高度上限，同时也是圆柱判定范围的高度 */
+    public final double heightCeiling;
+    /** 覆盖 {@link #contains} 判定范围的包围盒 */
+    public final AABB footprint;
+    /** 判定范围覆盖的分桶键（{@link SectionPos#asLong}） */
+    final long[] buckets;
+
+    SteamCloudState(AreaEffectCloud cloud, boolean highHeat, int level, long gameTime, double heightCeiling) {
+        this.cloud = cloud;
+        this.highHeat = highHeat;
+        this.level = level;
+        this.radius = cloud.getRadius();
+        this.expiry = gameTime + Math.max(0, cloud.getWaitTime() + cloud.getDuration() - cloud.tickCount);
+        this.center = cloud.position();
+        this.heightCeiling = heightCeiling;
+
+        AABB column = new AABB(center.x - radius, center.y, center.z - radius,
+                center.x + radius, center.y + heightCeiling, center.z + radius);
+        this.footprint = column.minmax(cloud.getBoundingBox().inflate(0.1));
+        this.buckets = bucketsOf(footprint);
+    }
+
+    /**
+     * 实体包围盒与云本体相交，或实体位于云上方 heightCeiling 内的圆柱中。
+     */
+    public boolean contains(LivingEntity entity) {
+        if (cloud.getBoundingBox().inflate(0.1).intersects(entity.getBoundingBox())) {
+            return true;
+        }
+
+        double dx = entity.getX() - center.x;
+        double dz = entity.getZ() - center.z;
+        double dy = entity.getY() - center.y;
+        return dx * dx + dz * dz <= (double) radius * radius && dy >= 0 && dy <= heightCeiling;
+    }
+
+    public boolean isExpired(long gameTime) {
+        return cloud.isRemoved() || gameTime >= expiry;
+    }
+
+    static long[] bucketsOf(AABB area) {
+        int minX = SectionPos.blockToSectionCoord(area.minX);
+        int minY = SectionPos.blockToSectionCoord(area.minY);
+        int minZ = SectionPos.blockToSectionCoord(area.minZ);
+        int maxX = SectionPos.blockToSectionCoord(area.maxX);
+        int maxY = SectionPos.blockToSectionCoord(area.maxY);
+        int maxZ = SectionPos.blockToSectionCoord(area.maxZ);
+
+        long[] keys = new long[(maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1)];
+        int i = 0;
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    keys[i++] = SectionPos.asLong(x, y, z);
+                }
+            }
+        }
+        return keys;
+    }
+}
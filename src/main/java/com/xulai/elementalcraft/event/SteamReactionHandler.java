@@ -1,6 +1,7 @@
 package com.xulai.elementalcraft.event;
 
 import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.capability.ElementalStatus;
 import com.xulai.elementalcraft.command.DebugCommand;
 import com.xulai.elementalcraft.config.ElementalFireNatureReactionsConfig;
 import com.xulai.elementalcraft.init.ModDamageTypes;
@@ -12,7 +13,6 @@ import com.xulai.elementalcraft.util.GlobalDebugLogger;
 import com.xulai.elementalcraft.util.DebugMode;
 import net.minecraft.core.particles.BlockParticleOption;
 import net.minecraft.core.particles.ParticleTypes;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
@@ -28,47 +28,49 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.enchantment.Enchantments;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
-import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.living.LivingDamageEvent;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
-import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.event.level.LevelEvent;
 import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.registries.ForgeRegistries;
 
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 
 @Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
 @SuppressWarnings("null")
 public class SteamReactionHandler {
 
+    // 云上的标记只随实体存档，运行时读取 SteamCloudRegistry 中解析好的记录
     public static final String TAG_STEAM_CLOUD = "EC_SteamCloud";
     public static final String TAG_HIGH_HEAT = "EC_HighHeat";
     public static final String TAG_LEVEL_PREFIX = "EC_Level_";
-    public static final String TAG_SELF_DRYING_PENALTY = "EC_SelfDryingPenalty";
 
-    private static final String NBT_CONDENSATION_TIMER = "EC_SteamCondensationTimer";
-    private static final String NBT_SPORE_GROWTH_TIMER = "EC_SporeGrowthTimer";
-    private static final String NBT_STEAM_ATTACKER_COOLDOWN = "EC_SteamAttackerCooldown";
-    private static final String NBT_STEAM_BLINDNESS = "EC_SteamBlindness";
+    // 最近一次云内判定的结果：所有云内实体，以及其中位于冷凝云内的实体
+    private static final Map<ServerLevel, Set<LivingEntity>> CLOUD_OCCUPANTS = new IdentityHashMap<>();
+    private static final Map<ServerLevel, Set<LivingEntity>> CONDENSING_OCCUPANTS = new IdentityHashMap<>();
 
-    private static final double STEAM_SCAN_RADIUS_MULTIPLIER = 3.0;
-
-    private static final List<AreaEffectCloud> ACTIVE_STEAM_CLOUDS = new CopyOnWriteArrayList<>();
+    private static final class CloudExposure {
+        private boolean highHeat;
+        private boolean condensing;
+        private int cloudLevel = 1;
+        private SteamCloudState heatSource;
+    }
 
     @SubscribeEvent(priority = EventPriority.LOWEST)
     public static void onLivingDamage(LivingDamageEvent event) {
         if (!ElementalFireNatureReactionsConfig.steamReactionEnabled) return;
         if (event.isCanceled()) return;
 
-        if (event.getSource().getEntity() instanceof LivingEntity attacker) {
-            processTriggerLogic(event, attacker, event.getEntity());
+        DamageContext context = DamageContext.of(event);
+        if (context.attacker != null) {
+            processTriggerLogic(event, context, context.attacker, event.getEntity());
         }
     }
 
@@ -86,102 +88,130 @@ public class SteamReactionHandler {
         }
     }
 
-    @SubscribeEvent
-    public static void onLivingTick(LivingEvent.LivingTickEvent event) {
+    /**
+     * 离开蒸汽云的实体在下一次判定时移除蒸汽致盲。
+     */
+    public static void tickActive(LivingEntity entity) {
         if (!ElementalFireNatureReactionsConfig.steamReactionEnabled) return;
 
-        LivingEntity entity = event.getEntity();
-        CompoundTag data = entity.getPersistentData();
-
-        if (data.contains(NBT_STEAM_ATTACKER_COOLDOWN)) {
-            int cooldown = data.getInt(NBT_STEAM_ATTACKER_COOLDOWN);
-            if (cooldown > 0) {
-                int newCooldown = cooldown - 1;
-                data.putInt(NBT_STEAM_ATTACKER_COOLDOWN, newCooldown);
-                if (DebugMode.hasAnyDebugEnabled() && entity.tickCount % 20 == 0) {
-                    GlobalDebugLogger.log(entity.level(), "蒸汽冷却",
-                            String.format("%s 攻击者冷却剩余 %d tick", entity.getName().getString(), newCooldown));
-                }
-                if (newCooldown == 0) {
-                    if (DebugMode.hasAnyDebugEnabled()) {
-                        GlobalDebugLogger.log(entity.level(), "蒸汽冷却",
-                                String.format("%s 攻击者冷却结束", entity.getName().getString()));
-                    }
+        ElementalStatus status = ElementalStatus.get(entity);
+        if (!status.steamBlindness) return;
+        if (!(entity.level() instanceof ServerLevel level) || !isCheckTick(level)) return;
+
+        Set<LivingEntity> occupants = CLOUD_OCCUPANTS.get(level);
+        if (occupants == null || !occupants.contains(entity)) {
+            entity.removeEffect(MobEffects.BLINDNESS);
+            status.steamBlindness = false;
+        }
+    }
+
+    private static boolean isCheckTick(ServerLevel level) {
+        return level.getGameTime() % Math.max(1, ElementalFireNatureReactionsConfig.steamCheckInterval) == 0;
+    }
+
+    /**
+     * 以云为中心的判定：每隔 steamCheckInterval 刻，每朵蒸汽云查询一次自身范围内的生物并施加烫伤、冷凝与孢子生长。
+     * 开销与云数 × 云内实体数成正比，与世界中的实体总数无关。
+     */
+    public static void evaluateClouds(ServerLevel level) {
+        if (!ElementalFireNatureReactionsConfig.steamReactionEnabled || !isCheckTick(level)) return;
+
+        Map<LivingEntity, CloudExposure> exposures = new IdentityHashMap<>();
+        long gameTime = level.getGameTime();
+        for (SteamCloudState cloud : SteamCloudRegistry.getClouds(level)) {
+            if (cloud.isExpired(gameTime)) continue;
+
+            for (LivingEntity entity : LivingEntityGrid.query(level, cloud.footprint)) {
+                if (!cloud.contains(entity)) continue;
+                CloudExposure exposure = exposures.computeIfAbsent(entity, e -> new CloudExposure());
+                if (cloud.highHeat) {
+                    exposure.highHeat = true;
+                    exposure.heatSource = cloud;
+                    exposure.cloudLevel = cloud.level;
+                } else {
+                    exposure.condensing = true;
                 }
-            } else {
-                data.remove(NBT_STEAM_ATTACKER_COOLDOWN);
             }
         }
 
-        if (entity.tickCount % ElementalFireNatureReactionsConfig.steamCheckInterval != 0) return;
-        processCloudEffects(entity);
+        if (exposures.isEmpty()) {
+            CLOUD_OCCUPANTS.remove(level);
+            CONDENSING_OCCUPANTS.remove(level);
+            return;
+        }
+
+        Set<LivingEntity> occupants = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<LivingEntity> condensing = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<LivingEntity, CloudExposure> entry : exposures.entrySet()) {
+            occupants.add(entry.getKey());
+            if (entry.getValue().condensing) {
+                condensing.add(entry.getKey());
+            }
+        }
+        CLOUD_OCCUPANTS.put(level, occupants);
+        CONDENSING_OCCUPANTS.put(level, condensing);
+
+        for (Map.Entry<LivingEntity, CloudExposure> entry : exposures.entrySet()) {
+            applyCloudEffects(entry.getKey(), entry.getValue());
+        }
     }
 
     @SubscribeEvent
     public static void onLevelTick(TickEvent.LevelTickEvent event) {
-        if (event.phase != TickEvent.Phase.END || event.level.isClientSide) return;
-        if (event.level.getGameTime() % 20 != 0) return;
-
-        if (ACTIVE_STEAM_CLOUDS.isEmpty()) return;
-
-        ACTIVE_STEAM_CLOUDS.removeIf(AreaEffectCloud::isRemoved);
+        if (event.phase != TickEvent.Phase.END || !(event.level instanceof ServerLevel level)) return;
+        if (level.getGameTime() % 20 != 0) return;
 
-        for (AreaEffectCloud cloud : ACTIVE_STEAM_CLOUDS) {
-            if (cloud.level() == event.level) {
-                boolean isHighHeat = cloud.getTags().contains(TAG_HIGH_HEAT);
-                EffectHelper.playSteamCloudTick((ServerLevel) event.level, cloud, isHighHeat);
-            }
+        SteamCloudRegistry.pruneExpired(level);
+        for (SteamCloudState cloud : SteamCloudRegistry.getClouds(level)) {
+            EffectHelper.playSteamCloudTick(level, cloud.cloud, cloud.highHeat);
         }
     }
 
     @SubscribeEvent
     public static void onLevelUnload(LevelEvent.Unload event) {
         if (event.getLevel().isClientSide()) return;
-        ACTIVE_STEAM_CLOUDS.removeIf(cloud -> cloud.level() == event.getLevel());
+        CLOUD_OCCUPANTS.remove(event.getLevel());
+        CONDENSING_OCCUPANTS.remove(event.getLevel());
     }
 
     @SubscribeEvent
     public static void onServerStopped(ServerStoppedEvent event) {
-        ACTIVE_STEAM_CLOUDS.clear();
+        CLOUD_OCCUPANTS.clear();
+        CONDENSING_OCCUPANTS.clear();
     }
 
+    /**
+     * 是否位于冷凝云（非高温蒸汽云）内；读取最近一次云内判定的结果。
+     */
     public static boolean isInCondensingCloud(LivingEntity entity) {
-        if (entity.level().isClientSide) return false;
-        double searchRadius = ElementalFireNatureReactionsConfig.steamCloudRadius * STEAM_SCAN_RADIUS_MULTIPLIER;
-        AABB box = entity.getBoundingBox().inflate(searchRadius);
-        List<AreaEffectCloud> clouds = entity.level().getEntitiesOfClass(AreaEffectCloud.class, box,
-                c -> c.getTags().contains(TAG_STEAM_CLOUD) && !c.getTags().contains(TAG_HIGH_HEAT));
-        for (AreaEffectCloud cloud : clouds) {
-            if (isEntityInCloud(entity, cloud)) {
-                return true;
-            }
-        }
-        return false;
+        if (!(entity.level() instanceof ServerLevel level)) return false;
+        Set<LivingEntity> condensing = CONDENSING_OCCUPANTS.get(level);
+        return condensing != null && condensing.contains(entity);
     }
 
-    private static void processTriggerLogic(LivingDamageEvent event, LivingEntity attacker, LivingEntity target) {
-        if (attacker.getPersistentData().contains(NBT_STEAM_ATTACKER_COOLDOWN)) {
+    private static void processTriggerLogic(LivingDamageEvent event, DamageContext context, LivingEntity attacker, LivingEntity target) {
+        if (attacker.level().getGameTime() < ElementalStatus.get(attacker).steamAttackerCooldownEnd) {
             Debug.logTriggerBlocked(attacker, "攻击者冷却中");
             return;
         }
 
-        ElementType attackElement = ElementUtils.getConsistentAttackElement(attacker);
+        ElementType attackElement = context.attackElement;
         Debug.logTriggerStart(attacker, target, attackElement);
 
         if (event.getSource().is(DamageTypeTags.IS_FIRE)) attackElement = ElementType.FIRE;
         if (event.getSource().is(DamageTypeTags.IS_FREEZING)) attackElement = ElementType.FROST;
 
-        int firePower = ElementUtils.getDisplayEnhancement(attacker, ElementType.FIRE);
-        int frostPower = ElementUtils.getDisplayEnhancement(attacker, ElementType.FROST);
+        int firePower = context.getAttackerEnhancement(ElementType.FIRE);
+        int frostPower = context.getAttackerEnhancement(ElementType.FROST);
 
-        boolean targetIsWet = target.getPersistentData().getInt(WetnessHandler.NBT_WETNESS) > 0;
-        int targetWetness = target.getPersistentData().getInt(WetnessHandler.NBT_WETNESS);
-        ElementType targetElement = ElementUtils.getConsistentAttackElement(target);
+        int targetWetness = ElementalStatus.get(target).getWetness();
+        boolean targetIsWet = targetWetness > 0;
+        ElementType targetElement = context.targetElement;
 
         Debug.logTriggerValues(attacker, target, attackElement, firePower, frostPower, targetIsWet, targetWetness, targetElement);
 
         if (attackElement == ElementType.FIRE) {
-            int attackerWetness = attacker.getPersistentData().getInt(WetnessHandler.NBT_WETNESS);
+            int attackerWetness = ElementalStatus.get(attacker).getWetness();
             if (attackerWetness > 0) {
                 Debug.logSelfDryPrevent(attacker, target, attackerWetness);
                 return;
@@ -231,7 +261,7 @@ public class SteamReactionHandler {
                         return;
                     }
 
-                    int targetFirePower = ElementUtils.getDisplayEnhancement(target, ElementType.FIRE);
+                    int targetFirePower = context.targetProfile.getEnhancement(ElementType.FIRE);
                     int fireStep = Math.max(1, ElementalFireNatureReactionsConfig.steamCondensationStepFire);
                     int frostStep = Math.max(1, ElementalFireNatureReactionsConfig.steamCondensationStepFrost);
                     int frostBonus = frostPower / frostStep;
@@ -313,81 +343,49 @@ public class SteamReactionHandler {
         return total;
     }
 
-    private static void processCloudEffects(LivingEntity entity) {
-        if (entity.level().isClientSide) return;
-
-        double searchRadius = ElementalFireNatureReactionsConfig.steamCloudRadius * STEAM_SCAN_RADIUS_MULTIPLIER;
-        AABB box = entity.getBoundingBox().inflate(searchRadius);
-        List<AreaEffectCloud> clouds = entity.level().getEntitiesOfClass(AreaEffectCloud.class, box,
-                c -> c.getTags().contains(TAG_STEAM_CLOUD));
-
-        if (clouds.isEmpty()) {
-            if (entity.getPersistentData().contains(NBT_STEAM_BLINDNESS)) {
-                entity.removeEffect(MobEffects.BLINDNESS);
-                entity.getPersistentData().remove(NBT_STEAM_BLINDNESS);
-            }
-            return;
-        }
-
-        boolean isHighHeat = false;
-        boolean isCondensing = false;
-        int cloudLevel = 1;
-        AreaEffectCloud heatSource = null;
-
-        for (AreaEffectCloud cloud : clouds) {
-            if (!isEntityInCloud(entity, cloud)) continue;
+    private static void applyCloudEffects(LivingEntity entity, CloudExposure exposure) {
+        ElementalStatus status = ElementalStatus.get(entity);
+        boolean isHighHeat = exposure.highHeat;
+        boolean isCondensing = exposure.condensing;
+        int cloudLevel = exposure.cloudLevel;
+        SteamCloudState heatSource = exposure.heatSource;
 
-            if (ElementalFireNatureReactionsConfig.steamClearAggro && entity instanceof Mob mob) {
-                mob.setTarget(null);
-                mob.getNavigation().stop();
-            }
-
-            if (cloud.getTags().contains(TAG_HIGH_HEAT)) {
-                isHighHeat = true;
-                heatSource = cloud;
-                for (String tag : cloud.getTags()) {
-                    if (tag.startsWith(TAG_LEVEL_PREFIX)) {
-                        try {
-                            cloudLevel = Integer.parseInt(tag.replace(TAG_LEVEL_PREFIX, ""));
-                        } catch (NumberFormatException ignored) {
-                        }
-                        break;
-                    }
-                }
-            } else isCondensing = true;
+        if (ElementalFireNatureReactionsConfig.steamClearAggro && entity instanceof Mob mob) {
+            mob.setTarget(null);
+            mob.getNavigation().stop();
         }
 
         Debug.logCloudEffect(entity, isHighHeat, isCondensing, cloudLevel);
 
         if (isHighHeat || isCondensing) {
-            if (!entity.getPersistentData().contains(NBT_STEAM_BLINDNESS)) {
+            if (!status.steamBlindness) {
                 entity.addEffect(new MobEffectInstance(MobEffects.BLINDNESS, 1000000, 0, false, false, true));
-                entity.getPersistentData().putBoolean(NBT_STEAM_BLINDNESS, true);
+                status.steamBlindness = true;
+                ActiveElementalEntities.track(entity);
             }
         } else {
-            if (entity.getPersistentData().contains(NBT_STEAM_BLINDNESS)) {
+            if (status.steamBlindness) {
                 entity.removeEffect(MobEffects.BLINDNESS);
-                entity.getPersistentData().remove(NBT_STEAM_BLINDNESS);
+                status.steamBlindness = false;
             }
         }
 
         if (isHighHeat) {
-            if (entity.getPersistentData().contains(NBT_CONDENSATION_TIMER)) {
-                entity.getPersistentData().remove(NBT_CONDENSATION_TIMER);
-            }
+            status.condensationTimer = 0;
 
             boolean aboveCeiling = false;
             if (heatSource != null) {
-                double heightCeiling = ElementalFireNatureReactionsConfig.steamCloudHeightCeiling;
-                if (entity.getY() - heatSource.getY() > heightCeiling) {
+                double heightCeiling = heatSource.heightCeiling;
+                if (entity.getY() - heatSource.center.y > heightCeiling) {
                     aboveCeiling = true;
-                    Debug.logHeightCeilingSkip(entity, heatSource.getY(), heightCeiling);
+                    Debug.logHeightCeilingSkip(entity, heatSource.center.y, heightCeiling);
                 } else {
-                    Debug.logHeightCeilingPass(entity, heatSource.getY(), heightCeiling);
+                    Debug.logHeightCeilingPass(entity, heatSource.center.y, heightCeiling);
                 }
             }
 
-            if (entity.tickCount % 20 == 0 && !aboveCeiling) {
+            // 判定在全关卡统一的间隔上进行，每 20 刻窗口内的第一次判定造成伤害
+            if (entity.level().getGameTime() % 20 < Math.max(1, ElementalFireNatureReactionsConfig.steamCheckInterval) && !aboveCeiling) {
                 float baseDamage = (float) ElementalFireNatureReactionsConfig.steamScaldingDamage;
                 float scale = (float) ElementalFireNatureReactionsConfig.steamDamageScalePerLevel;
                 float levelMultiplier = 1.0f + ((cloudLevel - 1) * scale);
@@ -416,9 +414,9 @@ public class SteamReactionHandler {
                             if (entity instanceof PathfinderMob mob && heatSource != null) {
                                 mob.setTarget(null);
 
-                                int fleeDist = (int) (heatSource.getRadius() + 2);
+                                int fleeDist = (int) (heatSource.radius + 2);
 
-                                Vec3 escapePos = DefaultRandomPos.getPosAway(mob, fleeDist, 4, heatSource.position());
+                                Vec3 escapePos = DefaultRandomPos.getPosAway(mob, fleeDist, 4, heatSource.center);
                                 if (escapePos != null) {
                                     mob.getNavigation().moveTo(escapePos.x, escapePos.y, escapePos.z, 1.5);
                                 }
@@ -428,22 +426,22 @@ public class SteamReactionHandler {
                 }
             }
 
-            if (entity.getPersistentData().getInt(WetnessHandler.NBT_WETNESS) > 0) {
+            if (status.getWetness() > 0) {
                 removeWetness(entity);
             }
         }
         else if (isCondensing) {
-            int currentTimer = entity.getPersistentData().getInt(NBT_CONDENSATION_TIMER);
+            int currentTimer = status.condensationTimer;
             currentTimer += ElementalFireNatureReactionsConfig.steamCheckInterval;
 
             int delayThreshold = Math.max(10, ElementalFireNatureReactionsConfig.steamCondensationDelay);
 
             if (currentTimer >= delayThreshold) {
-                int currentWet = entity.getPersistentData().getInt(WetnessHandler.NBT_WETNESS);
+                int currentWet = status.getWetness();
                 int max = ElementalFireNatureReactionsConfig.wetnessMaxLevel;
 
                 if (currentWet < max) {
-                    entity.getPersistentData().putInt(WetnessHandler.NBT_WETNESS, currentWet + 1);
+                    status.setWetness(currentWet + 1);
                     entity.level().playSound(null, entity.getX(), entity.getY(), entity.getZ(), SoundEvents.BUBBLE_COLUMN_BUBBLE_POP, SoundSource.NEUTRAL, 1.0f, 1.0f);
                     Debug.logCondensationGain(entity, currentWet + 1, currentTimer);
                 }
@@ -451,11 +449,11 @@ public class SteamReactionHandler {
                 currentTimer = 0;
             }
 
-            entity.getPersistentData().putInt(NBT_CONDENSATION_TIMER, currentTimer);
+            status.condensationTimer = currentTimer;
             Debug.logCondensationTimer(entity, currentTimer, delayThreshold);
 
             if (entity.hasEffect(ModMobEffects.SPORES.get())) {
-                int sporeTimer = entity.getPersistentData().getInt(NBT_SPORE_GROWTH_TIMER);
+                int sporeTimer = status.sporeGrowthTimer;
                 sporeTimer += ElementalFireNatureReactionsConfig.steamCheckInterval;
 
                 int growthRate = Math.max(10, ElementalFireNatureReactionsConfig.steamSporeGrowthRate);
@@ -472,57 +470,38 @@ public class SteamReactionHandler {
                     }
                     sporeTimer = 0;
                 }
-                entity.getPersistentData().putInt(NBT_SPORE_GROWTH_TIMER, sporeTimer);
+                status.sporeGrowthTimer = sporeTimer;
                 Debug.logSporeTimer(entity, sporeTimer, growthRate);
             }
         }
     }
 
-    private static boolean isEntityInCloud(LivingEntity entity, AreaEffectCloud cloud) {
-        if (cloud.getBoundingBox().inflate(0.1).intersects(entity.getBoundingBox())) {
-            return true;
-        }
-
-        if (cloud.getTags().contains(TAG_STEAM_CLOUD)) {
-            double heightCeiling = ElementalFireNatureReactionsConfig.steamCloudHeightCeiling;
-            double dx = entity.getX() - cloud.getX();
-            double dz = entity.getZ() - cloud.getZ();
-            double horizontalDist = Math.sqrt(dx * dx + dz * dz);
-            double dy = entity.getY() - cloud.getY();
-
-            if (horizontalDist <= cloud.getRadius() && dy >= 0 && dy <= heightCeiling) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     private static boolean isTriggerBlocked(LivingEntity entity) {
-        if (entity.level().isClientSide) return false;
-
-        double searchRadius = ElementalFireNatureReactionsConfig.steamCloudRadius * 2.0;
-        AABB box = entity.getBoundingBox().inflate(searchRadius);
-        List<AreaEffectCloud> clouds = entity.level().getEntitiesOfClass(AreaEffectCloud.class, box,
-                c -> c.getTags().contains(TAG_STEAM_CLOUD));
-
-        for (AreaEffectCloud cloud : clouds) {
-            if (isEntityInCloud(entity, cloud)) {
-                return true;
-            }
-        }
-        return false;
+        return SteamCloudRegistry.isInAnyCloud(entity);
     }
 
     private static void setAttackerCooldown(LivingEntity attacker) {
         int cooldownTicks = ElementalFireNatureReactionsConfig.steamTriggerCooldown;
-        attacker.getPersistentData().putInt(NBT_STEAM_ATTACKER_COOLDOWN, cooldownTicks);
+        long end = attacker.level().getGameTime() + cooldownTicks;
+        ElementalStatus.get(attacker).steamAttackerCooldownEnd = end;
+        ElementalTimers.schedule(attacker, ElementalTimers.Kind.STEAM_ATTACKER_COOLDOWN, end);
         if (DebugMode.hasAnyDebugEnabled()) {
             GlobalDebugLogger.log(attacker.level(), "蒸汽冷却",
                     String.format("%s 设置攻击者冷却 %d tick", attacker.getName().getString(), cooldownTicks));
         }
     }
 
+    /**
+     * 攻击者冷却到期回调（由 {@link ElementalTimers} 触发）。
+     */
+    static void onAttackerCooldownExpired(LivingEntity attacker) {
+        ElementalStatus.get(attacker).steamAttackerCooldownEnd = 0L;
+        if (DebugMode.hasAnyDebugEnabled()) {
+            GlobalDebugLogger.log(attacker.level(), "蒸汽冷却",
+                    String.format("%s 攻击者冷却结束", attacker.getName().getString()));
+        }
+    }
+
     private static void removeWetness(LivingEntity entity) {
         WetnessHandler.clearWetnessData(entity);
     }
@@ -530,8 +509,7 @@ public class SteamReactionHandler {
     private static boolean checkImmunity(LivingEntity entity) {
         if (entity.fireImmune() || entity.hasEffect(MobEffects.FIRE_RESISTANCE)) return true;
 
-        var key = ForgeRegistries.ENTITY_TYPES.getKey(entity.getType());
-        if (key != null && ElementalFireNatureReactionsConfig.cachedSteamBlacklist.contains(key.toString())) return true;
+        if (ElementalFireNatureReactionsConfig.compiledSteamBlacklist.contains(entity)) return true;
 
         int resist = ElementUtils.getDisplayResistance(entity, ElementType.FIRE);
         int threshold = ElementalFireNatureReactionsConfig.steamImmunityThreshold;
@@ -578,8 +556,6 @@ public class SteamReactionHandler {
 
         serverLevel.addFreshEntity(cloud);
 
-        ACTIVE_STEAM_CLOUDS.add(cloud);
-
         EffectHelper.playSteamBurst(serverLevel, target, radius, level, isHighHeat);
 
         Debug.logCloudSpawn(target, isHighHeat, level, radius, duration);
@@ -1,6 +1,7 @@
 package com.xulai.elementalcraft.event;
 
 import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.capability.ElementalStatus;
 import com.xulai.elementalcraft.command.DebugCommand;
 import com.xulai.elementalcraft.config.ElementalFireNatureReactionsConfig;
 import com.xulai.elementalcraft.potion.ModMobEffects;
@@ -9,9 +10,7 @@ import com.xulai.elementalcraft.util.ElementUtils;
 import com.xulai.elementalcraft.util.GlobalDebugLogger;
 import com.xulai.elementalcraft.util.DebugMode;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.Direction;
 import net.minecraft.core.particles.ParticleTypes;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.tags.DamageTypeTags;
 import net.minecraft.tags.FluidTags;
@@ -33,44 +32,54 @@ import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.registries.ForgeRegistries;
 
 import java.util.Objects;
 import java.util.Random;
 
-import com.xulai.elementalcraft.event.ScorchedHandler;
 import com.xulai.elementalcraft.event.SteamReactionHandler;
 
 @Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
 public class WetnessHandler {
 
-    public static final String NBT_WETNESS = "EC_WetnessLevel";
-    public static final String NBT_RAIN_TIMER = "EC_WetnessRainTimer";
-    public static final String NBT_DECAY_TIMER = "EC_WetnessDecayTimer";
-    public static final String NBT_LAST_EXHAUSTION = "EC_LastExhaustion";
-    public static final String NBT_FIRE_STAND_TIMER = "EC_WetnessFireStandTimer";
-
     private static final Random RANDOM = new Random();
 
     public static int getWetnessLevel(LivingEntity entity) {
-        CompoundTag data = entity.getPersistentData();
-        if (data.contains(NBT_WETNESS)) {
-            return data.getInt(NBT_WETNESS);
+        ElementalStatus status = ElementalStatus.get(entity);
+        if (status.isWetnessTracked()) {
+            return status.getWetness();
         }
         MobEffectInstance effect = entity.getEffect(ModMobEffects.WETNESS.get());
         if (effect != null) {
             int level = effect.getAmplifier() + 1;
-            data.putInt(NBT_WETNESS, level);
+            status.setWetness(level);
             return level;
         }
         return 0;
     }
 
+    /**
+     * 环境采样：所有实体都可能因水、雨雪而变湿，按各自 tickCount 错峰，每隔 wetnessTickInterval 刻检查一次。
+     */
     @SubscribeEvent
     public static void onLivingTick(LivingEvent.LivingTickEvent event) {
         LivingEntity entity = event.getEntity();
         if (entity.level().isClientSide) return;
+        if (entity.tickCount % ElementalFireNatureReactionsConfig.wetnessTickInterval != 0) return;
+
+        int wetnessBefore = getWetnessLevel(entity);
+        handleWetnessLogic(entity);
+        handleExhaustion(entity);
+
+        int wetnessAfter = getWetnessLevel(entity);
+        if (wetnessBefore != wetnessAfter) {
+            Debug.logWetnessChange(entity, wetnessBefore, wetnessAfter);
+        }
+    }
 
+    /**
+     * 潮湿实体的逐 tick 逻辑，由 {@link ActiveElementalEntities} 驱动。
+     */
+    public static void tickActive(LivingEntity entity) {
         int wetnessBefore = getWetnessLevel(entity);
 
         if (wetnessBefore > 0 && entity.isOnFire()) {
@@ -81,27 +90,22 @@ public class WetnessHandler {
         BlockState state = entity.level().getBlockState(pos);
         
         if (state.is(Objects.requireNonNull(Blocks.FIRE)) || state.is(Objects.requireNonNull(Blocks.SOUL_FIRE))) {
-            CompoundTag data = entity.getPersistentData();
+            ElementalStatus status = ElementalStatus.get(entity);
             int wetness = getWetnessLevel(entity);
             if (wetness > 0) {
-                int timer = data.getInt(NBT_FIRE_STAND_TIMER) + 1;
+                int timer = status.wetnessFireStandTimer + 1;
                 int threshold = ElementalFireNatureReactionsConfig.wetnessFireDryingTime * 20;
                 if (timer >= threshold) {
                     clearWetnessData(entity);
                     entity.playSound(Objects.requireNonNull(net.minecraft.sounds.SoundEvents.FIRE_EXTINGUISH), 1.0f, 1.0f);
                     timer = 0;
                 }
-                data.putInt(NBT_FIRE_STAND_TIMER, timer);
+                status.wetnessFireStandTimer = timer;
             } else {
-                data.remove(NBT_FIRE_STAND_TIMER);
+                status.wetnessFireStandTimer = 0;
             }
         } else {
-            entity.getPersistentData().remove(NBT_FIRE_STAND_TIMER);
-        }
-
-        if (entity.tickCount % ElementalFireNatureReactionsConfig.wetnessTickInterval == 0) {
-            handleWetnessLogic(entity);
-            handleExhaustion(entity);
+            ElementalStatus.get(entity).wetnessFireStandTimer = 0;
         }
 
         spawnWetnessParticles(entity);
@@ -113,7 +117,7 @@ public class WetnessHandler {
 
         int wetnessLevel = getWetnessLevel(entity);
         if (wetnessLevel > 0 && entity.tickCount % 40 == 0) {
-            if (!(entity.isInWater() || entity.level().isRainingAt(entity.blockPosition()) || isSnowingHere(entity))) {
+            if (!(entity.isInWater() || isInPrecipitation(entity))) {
                 entity.level().playSound(null, entity.getX(), entity.getY(), entity.getZ(),
                         net.minecraft.sounds.SoundEvents.POINTED_DRIPSTONE_DRIP_WATER,
                         net.minecraft.sounds.SoundSource.PLAYERS, 1.0f, 1.0f);
@@ -125,7 +129,7 @@ public class WetnessHandler {
         int wetnessLevel = getWetnessLevel(entity);
         if (wetnessLevel <= 0) return;
         if (!(entity.level() instanceof ServerLevel serverLevel)) return;
-        if (entity.isInWater() || entity.level().isRainingAt(entity.blockPosition()) || isSnowingHere(entity)) return;
+        if (entity.isInWater() || isInPrecipitation(entity)) return;
         if (entity.tickCount % 10 != 0) return;
 
         double width = entity.getBbWidth();
@@ -157,7 +161,8 @@ public class WetnessHandler {
     }
 
     private static void handleWetnessLogic(LivingEntity entity) {
-        if (entity.getPersistentData().contains(ScorchedHandler.NBT_SCORCHED_TICKS)) {
+        ElementalStatus status = ElementalStatus.get(entity);
+        if (status.scorchedActive) {
             clearWetnessData(entity);
             return;
         }
@@ -169,7 +174,6 @@ public class WetnessHandler {
 
         Level level = entity.level();
         BlockPos pos = entity.blockPosition();
-        CompoundTag data = entity.getPersistentData();
 
         boolean inLava = entity.isInLava();
         boolean nearHeatSource = checkHeatSource(level, pos);
@@ -187,10 +191,7 @@ public class WetnessHandler {
         int maxLevel = ElementalFireNatureReactionsConfig.wetnessMaxLevel;
 
         boolean inWater = entity.isInWater();
-        boolean isRainingHere = level.isRainingAt(pos);
-        boolean isSnowingHere = level.isRaining() && level.canSeeSky(pos)
-                && Objects.requireNonNull(level.getBiome(pos).value()).getPrecipitationAt(pos) == Biome.Precipitation.SNOW;
-        boolean inPrecipitation = isRainingHere || isSnowingHere;
+        boolean inPrecipitation = isInPrecipitation(entity);
 
         boolean inCondensingCloud = SteamReactionHandler.isInCondensingCloud(entity);
 
@@ -211,44 +212,44 @@ public class WetnessHandler {
                 updateWetnessLevel(entity, currentLevel);
                 Debug.logInWater(entity, fluidHeight, entityHeight, targetLevel, currentLevel);
             }
-            data.putInt(NBT_RAIN_TIMER, 0);
-            data.putInt(NBT_DECAY_TIMER, 0);
+            status.wetnessRainTimer = 0;
+            status.wetnessDecayTimer = 0;
 
         } else if (inPrecipitation) {
-            data.putInt(NBT_DECAY_TIMER, 0);
+            status.wetnessDecayTimer = 0;
             if (currentLevel < maxLevel) {
-                int rainTimer = data.getInt(NBT_RAIN_TIMER) + 1;
+                int rainTimer = status.wetnessRainTimer + 1;
                 int rainGainIntervalTicks = ElementalFireNatureReactionsConfig.wetnessRainGainInterval * 20;
                 int safeInterval = Math.max(1, ElementalFireNatureReactionsConfig.wetnessTickInterval);
                 int requiredRainCount = (int) Math.ceil((double) rainGainIntervalTicks / safeInterval);
                 if (rainTimer >= requiredRainCount) {
                     currentLevel++;
                     updateWetnessLevel(entity, currentLevel);
-                    data.putInt(NBT_RAIN_TIMER, 0);
+                    status.wetnessRainTimer = 0;
                     Debug.logRainGain(entity, currentLevel, rainTimer, requiredRainCount);
                 } else {
-                    data.putInt(NBT_RAIN_TIMER, rainTimer);
+                    status.wetnessRainTimer = rainTimer;
                 }
             }
 
         } else if (inCondensingCloud) {
-            data.putInt(NBT_RAIN_TIMER, 0);
-            data.putInt(NBT_DECAY_TIMER, 0);
+            status.wetnessRainTimer = 0;
+            status.wetnessDecayTimer = 0;
 
         } else {
-            data.putInt(NBT_RAIN_TIMER, 0);
+            status.wetnessRainTimer = 0;
             if (currentLevel > 0) {
-                int decayTimer = data.getInt(NBT_DECAY_TIMER) + 1;
+                int decayTimer = status.wetnessDecayTimer + 1;
                 int maxDurationTicks = currentLevel * ElementalFireNatureReactionsConfig.wetnessDecayBaseTime * 20;
                 int safeInterval = Math.max(1, ElementalFireNatureReactionsConfig.wetnessTickInterval);
                 int requiredDecayCount = (int) Math.ceil((double) maxDurationTicks / safeInterval);
                 if (decayTimer >= requiredDecayCount) {
                     currentLevel--;
                     updateWetnessLevel(entity, currentLevel);
-                    data.putInt(NBT_DECAY_TIMER, 0);
+                    status.wetnessDecayTimer = 0;
                     Debug.logDecayStep(entity, currentLevel+1, currentLevel, decayTimer, requiredDecayCount);
                 } else {
-                    data.putInt(NBT_DECAY_TIMER, decayTimer);
+                    status.wetnessDecayTimer = decayTimer;
                 }
             }
         }
@@ -256,54 +257,32 @@ public class WetnessHandler {
         syncEffect(entity, currentLevel, inWater || inPrecipitation || inCondensingCloud);
     }
 
-    private static boolean isSnowingHere(LivingEntity entity) {
+    /**
+     * 是否处于雨雪中；服务端读取 {@link PrecipitationCache}，同列同 tick 的实体共享结果。
+     */
+    private static boolean isInPrecipitation(LivingEntity entity) {
         BlockPos pos = entity.blockPosition();
+        if (entity.level() instanceof ServerLevel serverLevel) {
+            return PrecipitationCache.getPrecipitationAt(serverLevel, pos) != Biome.Precipitation.NONE;
+        }
         Level level = entity.level();
-        return level.isRaining() && level.canSeeSky(pos)
-                && Objects.requireNonNull(level.getBiome(pos).value()).getPrecipitationAt(pos) == Biome.Precipitation.SNOW;
+        return level.isRainingAt(pos) || (level.isRaining() && level.canSeeSky(pos)
+                && Objects.requireNonNull(level.getBiome(pos).value()).getPrecipitationAt(pos) == Biome.Precipitation.SNOW);
+    }
+
+    private static boolean isRainingHere(LivingEntity entity) {
+        if (entity.level() instanceof ServerLevel serverLevel) {
+            return PrecipitationCache.isRainingAt(serverLevel, entity.blockPosition());
+        }
+        return entity.level().isRainingAt(entity.blockPosition());
     }
 
     private static boolean checkHeatSource(Level level, BlockPos center) {
-        int cx = center.getX();
-        int cy = center.getY();
-        int cz = center.getZ();
+        if (!(level instanceof ServerLevel serverLevel)) return false;
         double configRadius = ElementalFireNatureReactionsConfig.wetnessHeatSearchRadius;
         int lavaRange = (int) Math.ceil(configRadius);
         int magmaRange = Math.max(1, lavaRange - 1);
-        BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
-
-        for (int x = -lavaRange; x <= lavaRange; x++) {
-            for (int y = -lavaRange; y <= lavaRange; y++) {
-                for (int z = -lavaRange; z <= lavaRange; z++) {
-                    mutablePos.set(cx + x, cy + y, cz + z);
-                    if (level.getFluidState(mutablePos).is(FluidTags.LAVA)) {
-                        return true;
-                    }
-                }
-            }
-        }
-
-        for (int x = -magmaRange; x <= magmaRange; x++) {
-            for (int y = -magmaRange; y <= magmaRange; y++) {
-                for (int z = -magmaRange; z <= magmaRange; z++) {
-                    mutablePos.set(cx + x, cy + y, cz + z);
-                    if (level.getBlockState(mutablePos).is(Blocks.MAGMA_BLOCK)) {
-                        boolean hasWaterNearby = false;
-                        for (int dir = 0; dir < 6; dir++) {
-                            BlockPos neighbor = mutablePos.relative(Direction.values()[dir]);
-                            if (level.getFluidState(neighbor).is(FluidTags.WATER)) {
-                                hasWaterNearby = true;
-                                break;
-                            }
-                        }
-                        if (!hasWaterNearby) {
-                            return true;
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+        return HeatSourceIndex.hasHeatNear(serverLevel, center, lavaRange, magmaRange);
     }
 
     private static boolean isImmune(LivingEntity entity) {
@@ -313,22 +292,16 @@ public class WetnessHandler {
         if (ElementalFireNatureReactionsConfig.wetnessNetherDimensionImmune && entity.level().dimension() == Level.NETHER) {
             return true;
         }
-        if (!ElementalFireNatureReactionsConfig.cachedWetnessBlacklist.isEmpty()) {
-            var key = ForgeRegistries.ENTITY_TYPES.getKey(entity.getType());
-            if (key != null && ElementalFireNatureReactionsConfig.cachedWetnessBlacklist.contains(key.toString())) {
-                return true;
-            }
+        if (ElementalFireNatureReactionsConfig.compiledWetnessBlacklist.contains(entity)) {
+            return true;
         }
         return false;
     }
 
     public static void clearWetnessData(LivingEntity entity) {
-        CompoundTag data = entity.getPersistentData();
-        if (data.contains(NBT_WETNESS)) {
-            data.remove(NBT_WETNESS);
-            data.remove(NBT_RAIN_TIMER);
-            data.remove(NBT_DECAY_TIMER);
-            data.remove(NBT_FIRE_STAND_TIMER);
+        ElementalStatus status = ElementalStatus.get(entity);
+        if (status.isWetnessTracked()) {
+            status.clearWetness();
         }
         if (entity.hasEffect(Objects.requireNonNull(ModMobEffects.WETNESS.get()))) {
             entity.removeEffect(ModMobEffects.WETNESS.get());
@@ -361,7 +334,7 @@ public class WetnessHandler {
         if (isPaused) {
             durationTicks = 24000;
         } else {
-            int decayTimer = entity.getPersistentData().getInt(NBT_DECAY_TIMER);
+            int decayTimer = ElementalStatus.get(entity).wetnessDecayTimer;
             int maxDurationSeconds = level * baseTime;
             int safeInterval = Math.max(1, ElementalFireNatureReactionsConfig.wetnessTickInterval);
             double elapsedSeconds = (double) decayTimer * safeInterval / 20.0;
@@ -386,15 +359,18 @@ public class WetnessHandler {
     }
 
     public static void updateWetnessLevel(LivingEntity entity, int level) {
-        entity.getPersistentData().putInt(NBT_WETNESS, level);
+        ElementalStatus.get(entity).setWetness(level);
+        if (level > 0) {
+            ActiveElementalEntities.track(entity);
+        }
     }
 
     private static void handleExhaustion(LivingEntity entity) {
         if (entity instanceof Player player && !player.isCreative() && !player.isSpectator()) {
-            CompoundTag data = player.getPersistentData();
+            ElementalStatus status = ElementalStatus.get(player);
             int currentLevel = getWetnessLevel(player);
             float currentExhaustion = player.getFoodData().getExhaustionLevel();
-            float lastExhaustion = data.getFloat(NBT_LAST_EXHAUSTION);
+            float lastExhaustion = status.lastExhaustion;
 
             if (currentExhaustion > lastExhaustion) {
                 float delta = currentExhaustion - lastExhaustion;
@@ -410,7 +386,7 @@ public class WetnessHandler {
                     }
                 }
             }
-            data.putFloat(NBT_LAST_EXHAUSTION, currentExhaustion);
+            status.lastExhaustion = currentExhaustion;
         }
     }
 
@@ -421,7 +397,8 @@ public class WetnessHandler {
         Entity target = ((EntityHitResult) event.getRayTraceResult()).getEntity();
         if (!(target instanceof LivingEntity livingTarget)) return;
 
-        if (livingTarget.getPersistentData().contains(ScorchedHandler.NBT_SCORCHED_TICKS)) {
+        ElementalStatus status = ElementalStatus.get(livingTarget);
+        if (status.scorchedActive) {
             return;
         }
 
@@ -433,8 +410,8 @@ public class WetnessHandler {
             int max = ElementalFireNatureReactionsConfig.wetnessMaxLevel;
             int newLevel = Math.min(max, current + add);
             updateWetnessLevel(livingTarget, newLevel);
-            livingTarget.getPersistentData().putInt(NBT_DECAY_TIMER, 0);
-            syncEffect(livingTarget, newLevel, livingTarget.isInWater() || livingTarget.level().isRainingAt(livingTarget.blockPosition()));
+            status.wetnessDecayTimer = 0;
+            syncEffect(livingTarget, newLevel, livingTarget.isInWater() || isRainingHere(livingTarget));
             Debug.logPotionImpact(livingTarget, current, newLevel, add);
         }
     }
@@ -26,19 +26,13 @@ public class MobAttributeLogic {
         CompoundTag data = mob.getPersistentData();
         if (data.getBoolean("ElementalCraft_AttributesSet")) return;
 
-        String entityId = net.minecraft.world.entity.EntityType.getKey(mob.getType()).toString();
-
-        if (ElementalConfig.cachedBlacklist.contains(entityId)) {
+        if (ElementalConfig.compiledBlacklist.contains(mob)) {
             data.putBoolean("ElementalCraft_AttributesSet", true);
-            Debug.logBlacklisted(mob, entityId);
+            Debug.logBlacklisted(mob, net.minecraft.world.entity.EntityType.getKey(mob.getType()).toString());
             return;
         }
 
-        java.util.List<ForcedAttributeHelper.ForcedData> forcedList = ForcedAttributeHelper.getForcedDataList(mob.getType());
-        ForcedAttributeHelper.ForcedData forced = null;
-        if (!forcedList.isEmpty()) {
-            forced = forcedList.get(ThreadLocalRandom.current().nextInt(forcedList.size()));
-        }
+        ForcedAttributeHelper.ForcedData forced = ForcedAttributeHelper.pickForcedData(mob.getType());
 
         if (forced == null && ElementalConfig.netherForcedFire
                 && mob.level().dimension() == Level.NETHER) {
@@ -66,7 +60,7 @@ public class MobAttributeLogic {
             return;
         }
 
-        boolean isNeutral = (mob instanceof NeutralMob) || entityId.equals("minecraft:piglin");
+        boolean isNeutral = (mob instanceof NeutralMob) || mob.getType() == net.minecraft.world.entity.EntityType.PIGLIN;
         boolean isMonster = (mob instanceof Monster);
 
         if (!isMonster && !isNeutral) {
@@ -126,6 +120,7 @@ public class MobAttributeLogic {
         }
 
         applyArmorAttributes(mob, enhanceType, enhanceTotalPoints, resistType, resistTotalPoints);
+        ElementProfile.invalidate(mob);
     }
 
     private static void applyForcedAttributes(Mob mob, CompoundTag persistentData, ForcedAttributeHelper.ForcedData data) {
@@ -158,6 +153,7 @@ public class MobAttributeLogic {
             }
 
             applyArmorAttributes(mob, enhanceType, enhancePoints, resistType, resistPoints);
+            ElementProfile.invalidate(mob);
 
             persistentData.putBoolean("ElementalCraft_AttributesSet", true);
         }));
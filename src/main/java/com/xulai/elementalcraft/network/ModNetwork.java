@@ -0,0 +1,39 @@
+package com.xulai.elementalcraft.network;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.NetworkDirection;
+import net.minecraftforge.network.NetworkRegistry;
+import net.minecraftforge.network.simple.SimpleChannel;
+
+/**
+ * 模组网络通道 / Mod network channel.
+ */
+public final class ModNetwork {
+
+    private static final String PROTOCOL_VERSION = "1";
+
+    public static final SimpleChannel CHANNEL = NetworkRegistry.newSimpleChannel(
+            new ResourceLocation(ElementalCraft.MODID, "main"),
+            () -> PROTOCOL_VERSION,
+            PROTOCOL_VERSION::equals,
+            PROTOCOL_VERSION::equals
+    );
+
+    private ModNetwork() {
+    }
+
+    public static void register() {
+        int id = 0;
+        CHANNEL.messageBuilder(TrailPacket.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(TrailPacket::encode)
+                .decoder(TrailPacket::decode)
+                .consumerMainThread(TrailPacket::handle)
+                .add();
+        CHANNEL.messageBuilder(SporeAmbientPacket.class, id++, NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(SporeAmbientPacket::encode)
+                .decoder(SporeAmbientPacket::decode)
+                .consumerMainThread(SporeAmbientPacket::handle)
+                .add();
+    }
+}
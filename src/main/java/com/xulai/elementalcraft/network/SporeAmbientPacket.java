@@ -0,0 +1,30 @@
+package com.xulai.elementalcraft.network;
+
+import com.xulai.elementalcraft.client.ClientAmbientEffects;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * 孢子环境粒子开关 / Tells clients that an entity gained or lost flammable spores.
+ * <p>
+ * 孢子附着期间的环境粒子由客户端在本地生成并计入环境粒子预算，服务端只在状态变化或玩家开始追踪时发送一次。
+ */
+public record SporeAmbientPacket(int entityId, boolean active) {
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(entityId);
+        buf.writeBoolean(active);
+    }
+
+    public static SporeAmbientPacket decode(FriendlyByteBuf buf) {
+        return new SporeAmbientPacket(buf.readVarInt(), buf.readBoolean());
+    }
+
+    public static void handle(SporeAmbientPacket packet, Supplier<NetworkEvent.Context> context) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientAmbientEffects.handle(packet));
+    }
+}
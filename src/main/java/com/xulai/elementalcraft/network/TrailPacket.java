@@ -0,0 +1,58 @@
+package com.xulai.elementalcraft.network;
+
+import com.xulai.elementalcraft.client.ClientTrailManager;
+import com.xulai.elementalcraft.util.ElementType;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.fml.DistExecutor;
+import net.minecraftforge.network.NetworkEvent;
+
+import java.util.function.Supplier;
+
+/**
+ * 元素拖尾描述 / Start or stop descriptor for an elemental projectile trail.
+ * <p>
+ * 每个投射物只在玩家开始追踪时发送一次开始描述（属性、等级、已飞行 tick 数、随机种子与服务端拖尾配置哈希），
+ * 击中方块时发送一次停止描述；螺旋线、锥形与尾迹粒子全部由客户端在本地生成。
+ */
+public record TrailPacket(int entityId, boolean start, ElementType element, int tier, int elapsed, long seed, int configHash) {
+
+    public static TrailPacket start(int entityId, ElementType element, int tier, int elapsed, long seed, int configHash) {
+        return new TrailPacket(entityId, true, element, tier, elapsed, seed, configHash);
+    }
+
+    public static TrailPacket stop(int entityId) {
+        return new TrailPacket(entityId, false, ElementType.NONE, 0, 0, 0L, 0);
+    }
+
+    public void encode(FriendlyByteBuf buf) {
+        buf.writeVarInt(entityId);
+        buf.writeBoolean(start);
+        if (start) {
+            buf.writeByte(element.ordinal());
+            buf.writeByte(tier);
+            buf.writeVarInt(elapsed);
+            buf.writeLong(seed);
+            buf.writeInt(configHash);
+        }
+    }
+
+    public static TrailPacket decode(FriendlyByteBuf buf) {
+        int entityId = buf.readVarInt();
+        if (!buf.readBoolean()) {
+            return stop(entityId);
+        }
+        ElementType[] types = ElementType.values();
+        int ordinal = buf.readUnsignedByte();
+        ElementType element = ordinal < types.length ? types[ordinal] : ElementType.NONE;
+        int tier = buf.readUnsignedByte();
+        int elapsed = buf.readVarInt();
+        long seed = buf.readLong();
+        int configHash = buf.readInt();
+        return start(entityId, element, tier, elapsed, seed, configHash);
+    }
+
+    public static void handle(TrailPacket packet, Supplier<NetworkEvent.Context> context) {
+        DistExecutor.unsafeRunWhenOn(Dist.CLIENT, () -> () -> ClientTrailManager.handle(packet));
+    }
+}
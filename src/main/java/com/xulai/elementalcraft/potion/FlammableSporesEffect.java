@@ -1,7 +1,6 @@
 package com.xulai.elementalcraft.potion;
 
 import com.xulai.elementalcraft.config.ElementalFireNatureReactionsConfig;
-import com.xulai.elementalcraft.util.EffectHelper;
 import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.effect.MobEffectCategory;
 import net.minecraft.world.entity.LivingEntity;
@@ -39,10 +38,7 @@ public class FlammableSporesEffect extends MobEffect {
                     entity.hurt(entity.damageSources().wither(), totalDamage);
                 }
             }
-
-            if (entity.tickCount % 2 == 0) {
-                EffectHelper.playSporeAmbient(entity);
-            }
+            // 持续的环境孢子粒子由客户端 ClientAmbientEffects 生成
         }
     }
 
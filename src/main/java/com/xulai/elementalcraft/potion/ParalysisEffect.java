@@ -1,13 +1,15 @@
 package com.xulai.elementalcraft.potion;
 
+import com.xulai.elementalcraft.capability.ElementalStatus;
 import com.xulai.elementalcraft.config.ElementalThunderFrostReactionsConfig;
+import com.xulai.elementalcraft.event.ElementalTimers;
+import com.xulai.elementalcraft.event.LivingEntityGrid;
 import com.xulai.elementalcraft.potion.ModMobEffects;
 import com.xulai.elementalcraft.util.ElementUtils;
 import com.xulai.elementalcraft.util.ElementType;
 import com.xulai.elementalcraft.util.EffectHelper;
 import com.xulai.elementalcraft.util.GlobalDebugLogger;
 import com.xulai.elementalcraft.util.DebugMode;
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.effect.MobEffectCategory;
@@ -15,8 +17,6 @@ import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.ai.attributes.AttributeMap;
-import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.entity.TamableAnimal;
 import net.minecraft.world.phys.AABB;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,15 +24,6 @@ import java.util.Random;
 
 public class ParalysisEffect extends MobEffect {
     private static final Random RANDOM = new Random();
-    private static final String NBT_SPREAD_COOLDOWN = "EC_ParalysisSpreadCooldown";
-    private static final String NBT_HAS_SPREAD = "EC_HasSpreadStatic";
-    private static final String NBT_STATIC_STACKS = "EC_StaticStacks";
-    private static final String NBT_STATIC_TIMER = "EC_StaticTimer";
-    private static final String NBT_STATIC_DAMAGE_TIMER = "EC_StaticDamageTimer";
-    private static final String NBT_PARALYSIS_STACKS = "EC_ParalysisStacks";
-    private static final String NBT_PARALYSIS_TIMER = "EC_ParalysisTimer";
-    private static final String NBT_ORIGINAL_NO_AI = "EC_OriginalNoAI";
-    private static final String NBT_AI_DISABLED = "EC_AIDisabled";
 
     public ParalysisEffect() {
         super(MobEffectCategory.HARMFUL, 0x808080);
@@ -66,35 +57,34 @@ public class ParalysisEffect extends MobEffect {
 
     private static void disableAI(LivingEntity entity) {
         if (!(entity instanceof Mob mob)) return;
-        CompoundTag data = entity.getPersistentData();
-        if (data.getBoolean(NBT_AI_DISABLED)) return;
-        data.putBoolean(NBT_ORIGINAL_NO_AI, mob.isNoAi());
+        ElementalStatus status = ElementalStatus.get(entity);
+        if (status.aiDisabled) return;
+        status.originalNoAi = mob.isNoAi();
         mob.setNoAi(true);
-        data.putBoolean(NBT_AI_DISABLED, true);
+        status.aiDisabled = true;
         Debug.logAIDisabled(entity);
     }
 
     private static void restoreAI(LivingEntity entity) {
         if (!(entity instanceof Mob mob)) return;
-        CompoundTag data = entity.getPersistentData();
-        if (!data.getBoolean(NBT_AI_DISABLED)) return;
-        boolean wasNoAi = data.getBoolean(NBT_ORIGINAL_NO_AI);
+        ElementalStatus status = ElementalStatus.get(entity);
+        if (!status.aiDisabled) return;
+        boolean wasNoAi = status.originalNoAi;
         mob.setNoAi(wasNoAi);
-        data.remove(NBT_ORIGINAL_NO_AI);
-        data.remove(NBT_AI_DISABLED);
+        status.originalNoAi = false;
+        status.aiDisabled = false;
         Debug.logAIRestored(entity);
     }
 
     private void checkAndSpreadStaticShock(LivingEntity entity, int amplifier) {
-        CompoundTag data = entity.getPersistentData();
-        if (data.getBoolean(NBT_HAS_SPREAD)) {
+        ElementalStatus status = ElementalStatus.get(entity);
+        if (status.paralysisHasSpread) {
             Debug.logSpreadAlreadyDone(entity);
             return;
         }
-        int cooldown = data.getInt(NBT_SPREAD_COOLDOWN);
-        if (cooldown > 0) {
-            data.putInt(NBT_SPREAD_COOLDOWN, cooldown - 1);
-            Debug.logSpreadCooldown(entity, cooldown - 1);
+        long gameTime = entity.level().getGameTime();
+        if (gameTime < status.paralysisSpreadReadyTick) {
+            Debug.logSpreadCooldown(entity, (int) (status.paralysisSpreadReadyTick - gameTime));
             return;
         }
         int paralysisStacks = amplifier + 1;
@@ -116,7 +106,9 @@ public class ParalysisEffect extends MobEffect {
             entity.getX() - spreadRange, entity.getY() - spreadRange, entity.getZ() - spreadRange,
             entity.getX() + spreadRange, entity.getY() + spreadRange, entity.getZ() + spreadRange
         );
-        List<LivingEntity> nearbyEntities = entity.level().getEntitiesOfClass(LivingEntity.class, area);
+        int excluded = (ElementalThunderFrostReactionsConfig.paralysisSpreadExcludePlayers ? LivingEntityGrid.PLAYER : 0)
+                | (ElementalThunderFrostReactionsConfig.paralysisSpreadExcludePets ? LivingEntityGrid.TAMED_PET : 0);
+        List<LivingEntity> nearbyEntities = LivingEntityGrid.query(entity.level(), area, 0, excluded);
         double paralysisPercentage = ElementalThunderFrostReactionsConfig.paralysisSpreadStaticPercentage;
         int spreadParalysisStacks = (int) Math.ceil(paralysisStacks * paralysisPercentage);
         if (spreadParalysisStacks < 1) {
@@ -133,17 +125,6 @@ public class ParalysisEffect extends MobEffect {
             if (target == entity) {
                 continue;
             }
-            if (ElementalThunderFrostReactionsConfig.paralysisSpreadExcludePlayers && target instanceof Player) {
-                Debug.logSpreadExclude(target, "玩家");
-                continue;
-            }
-            if (ElementalThunderFrostReactionsConfig.paralysisSpreadExcludePets && target instanceof TamableAnimal) {
-                TamableAnimal pet = (TamableAnimal) target;
-                if (pet.isTame() && pet.getOwner() != null) {
-                    Debug.logSpreadExclude(target, "宠物");
-                    continue;
-                }
-            }
             if (target.hasEffect(ModMobEffects.PARALYSIS.get())) {
                 Debug.logSpreadExclude(target, "已有麻痹");
                 continue;
@@ -159,8 +140,7 @@ public class ParalysisEffect extends MobEffect {
                 continue;
             }
             if (!ElementalThunderFrostReactionsConfig.paralysisSpreadAllowChain) {
-                CompoundTag targetData = target.getPersistentData();
-                if (targetData.getBoolean(NBT_HAS_SPREAD)) {
+                if (ElementalStatus.get(target).paralysisHasSpread) {
                     Debug.logSpreadExclude(target, "已传染过");
                     continue;
                 }
@@ -174,8 +154,8 @@ public class ParalysisEffect extends MobEffect {
             if (entity.level() instanceof ServerLevel) {
                 EffectHelper.playParalysisSpread(entity, affectedTargets, spreadRange);
             }
-            data.putBoolean(NBT_HAS_SPREAD, true);
-            data.putInt(NBT_SPREAD_COOLDOWN, 20);
+            status.paralysisHasSpread = true;
+            status.paralysisSpreadReadyTick = gameTime + 20;
             Debug.logSpreadSuccess(entity, affectedTargets.size());
         } else {
             Debug.logSpreadNoTarget(entity);
@@ -200,11 +180,12 @@ public class ParalysisEffect extends MobEffect {
             false,
             true
         ));
-        CompoundTag data = target.getPersistentData();
-        data.putInt(NBT_PARALYSIS_STACKS, paralysisStacks);
-        data.putInt(NBT_PARALYSIS_TIMER, totalDuration);
+        ElementalStatus status = ElementalStatus.get(target);
+        status.paralysisStacks = paralysisStacks;
+        status.paralysisEnd = target.level().getGameTime() + totalDuration;
+        ElementalTimers.schedule(target, ElementalTimers.Kind.PARALYSIS_EXPIRY, status.paralysisEnd);
         if (!ElementalThunderFrostReactionsConfig.paralysisSpreadAllowChain) {
-            data.putBoolean(NBT_HAS_SPREAD, true);
+            status.paralysisHasSpread = true;
         }
     }
 
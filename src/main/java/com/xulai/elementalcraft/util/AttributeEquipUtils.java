@@ -105,23 +105,7 @@ public class AttributeEquipUtils {
 
     public static ElementType getCounterElement(ElementType type) {
         if (type == null || type == ElementType.NONE) return ElementType.NONE;
-
-        List<? extends String> restraints = ElementalConfig.cachedRestraints;
-        if (restraints == null || restraints.isEmpty()) return ElementType.NONE;
-
-        for (String relation : restraints) {
-            String[] split = relation.split("->");
-            if (split.length == 2) {
-                String attackerId = split[0].trim();
-                String victimId = split[1].trim();
-
-                if (victimId.equalsIgnoreCase(type.getId())) {
-                    return ElementType.fromId(attackerId);
-                }
-            }
-        }
-
-        return ElementType.NONE;
+        return ElementalConfig.getCounterElement(type);
     }
 
     public static ElementType randomNonNoneElement() {
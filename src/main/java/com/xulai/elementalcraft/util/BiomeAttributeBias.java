@@ -10,64 +10,182 @@ import net.minecraft.world.level.biome.Biome;
 
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 群系属性偏向 / Biome-biased element selection for generated mobs.
+ * <p>
+ * 自定义权重、雷暴、炎热、寒冷与森林偏向依次作为概率关卡，组合后的最终分布只取决于群系、是否雷暴以及所在位置是否寒冷，
+ * 因此每个群系在首次使用时构建四张 Walker 别名表（普通/雷暴 × 温暖/寒冷），之后的抽样为 O(1) 且不分配对象。
+ * 表按配置版本（{@link ElementalConfig#cacheVersion} 与自定义偏向版本）缓存，版本变化后在下一次使用时重建。
+ */
 public final class BiomeAttributeBias {
 
     private BiomeAttributeBias() {}
 
     private static final Random RANDOM = new Random();
 
-    public static ElementType getBiasedElement(ServerLevel level, BlockPos pos) {
-        Holder<Biome> biomeHolder = level.getBiome(pos);
-        ResourceLocation biomeId = biomeHolder.unwrapKey().map(key -> key.location()).orElse(null);
-
-        if (biomeId != null) {
-            Map<ElementType, Double> customBias = CustomBiomeBias.getCustomBias(biomeId);
-            double totalCustom = customBias.values().stream().mapToDouble(Double::doubleValue).sum();
-            if (totalCustom > 0) {
-                double roll = RANDOM.nextDouble() * totalCustom;
-                double current = 0;
-                for (Map.Entry<ElementType, Double> entry : customBias.entrySet()) {
-                    if (entry.getValue() > 0) {
-                        current += entry.getValue();
-                        if (roll < current) {
-                            return entry.getKey();
-                        }
-                    }
-                }
+    // 别名表下标 i 对应 ElementType.values()[i + 1]
+    private static final ElementType[] ELEMENTS = {
+            ElementType.NATURE, ElementType.THUNDER, ElementType.FROST, ElementType.FIRE
+    };
+    private static final int COUNT = ELEMENTS.length;
+
+    private static final int VARIANT_THUNDER = 2;
+    private static final int VARIANT_COLD = 1;
+
+    private static final Map<Biome, BiomeTables> TABLES = new ConcurrentHashMap<>();
+    private static final AtomicInteger CUSTOM_BIAS_VERSION = new AtomicInteger();
+
+    /**
+     * 单个分布的 Walker 别名表。
+     */
+    public static final class AliasTable {
+        private final float[] probabilities = new float[COUNT];
+        private final float[] accept = new float[COUNT];
+        private final int[] alias = new int[COUNT];
+
+        private AliasTable(double[] weights) {
+            double total = 0;
+            for (double w : weights) total += w;
+
+            double[] scaled = new double[COUNT];
+            for (int i = 0; i < COUNT; i++) {
+                double p = total > 0 ? weights[i] / total : 1.0 / COUNT;
+                probabilities[i] = (float) p;
+                scaled[i] = p * COUNT;
             }
-        }
 
-        if (level.isThundering()) {
-            if (RANDOM.nextDouble() < ElementalConfig.thunderstormBias / 100.0) {
-                return ElementType.THUNDER;
+            int[] small = new int[COUNT];
+            int[] large = new int[COUNT];
+            int smallSize = 0;
+            int largeSize = 0;
+            for (int i = 0; i < COUNT; i++) {
+                if (scaled[i] < 1.0) small[smallSize++] = i;
+                else large[largeSize++] = i;
+            }
+            while (smallSize > 0 && largeSize > 0) {
+                int s = small[--smallSize];
+                int l = large[--largeSize];
+                accept[s] = (float) scaled[s];
+                alias[s] = l;
+                scaled[l] = scaled[l] + scaled[s] - 1.0;
+                if (scaled[l] < 1.0) small[smallSize++] = l;
+                else large[largeSize++] = l;
+            }
+            // 剩余项（含浮点误差）概率视为 1
+            while (largeSize > 0) {
+                int l = large[--largeSize];
+                accept[l] = 1.0f;
+                alias[l] = l;
+            }
+            while (smallSize > 0) {
+                int s = small[--smallSize];
+                accept[s] = 1.0f;
+                alias[s] = s;
             }
         }
 
-        float temperature = level.getBiome(pos).value().getBaseTemperature();
+        public ElementType sample(Random random) {
+            int i = random.nextInt(COUNT);
+            return ELEMENTS[random.nextFloat() < accept[i] ? i : alias[i]];
+        }
 
-        if (temperature >= 0.95F) {
-            if (RANDOM.nextDouble() < ElementalConfig.hotFireBias / 100.0) {
-                return ElementType.FIRE;
-            }
+        public float probability(ElementType type) {
+            int i = type.ordinal() - 1;
+            return i >= 0 && i < COUNT ? probabilities[i] : 0.0f;
         }
+    }
+
+    private static final class BiomeTables {
+        private final int configVersion;
+        private final int customVersion;
+        private final AliasTable[] variants = new AliasTable[4];
+
+        private BiomeTables(int configVersion, int customVersion, Holder<Biome> biomeHolder) {
+            this.configVersion = configVersion;
+            this.customVersion = customVersion;
+
+            double[] custom = new double[COUNT];
+            ResourceLocation biomeId = biomeHolder.unwrapKey().map(key -> key.location()).orElse(null);
+            if (biomeId != null) {
+                float[] bias = CustomBiomeBias.getCustomBias(biomeId);
+                for (int i = 0; i < COUNT; i++) {
+                    custom[i] = bias[i];
+                }
+            }
 
-        if (level.getBiome(pos).value().coldEnoughToSnow(pos) || temperature <= 0.05F) {
-            if (RANDOM.nextDouble() < ElementalConfig.coldFrostBias / 100.0) {
-                return ElementType.FROST;
+            boolean hot = biomeHolder.value().getBaseTemperature() >= 0.95F;
+            boolean forest = isForest(biomeHolder);
+            for (int variant = 0; variant < variants.length; variant++) {
+                variants[variant] = new AliasTable(combine(custom,
+                        (variant & VARIANT_THUNDER) != 0, hot, (variant & VARIANT_COLD) != 0, forest));
             }
         }
+    }
 
-        if (isForest(biomeHolder)) {
-            if (RANDOM.nextDouble() < ElementalConfig.forestNatureBias / 100.0) {
-                return ElementType.NATURE;
-            }
+    /**
+     * 将依次判定的偏向关卡展开为最终分布：存在自定义权重时直接按权重抽取；
+     * 否则雷暴、炎热、寒冷、森林依次以各自概率命中，全部未命中时四种属性均分。
+     */
+    private static double[] combine(double[] custom, boolean thundering, boolean hot, boolean cold, boolean forest) {
+        double totalCustom = 0;
+        for (double w : custom) totalCustom += w;
+        if (totalCustom > 0) {
+            return custom.clone();
+        }
+
+        double[] weights = new double[COUNT];
+        double remaining = 1.0;
+        if (thundering) remaining = gate(weights, ElementType.THUNDER, ElementalConfig.thunderstormBias, remaining);
+        if (hot) remaining = gate(weights, ElementType.FIRE, ElementalConfig.hotFireBias, remaining);
+        if (cold) remaining = gate(weights, ElementType.FROST, ElementalConfig.coldFrostBias, remaining);
+        if (forest) remaining = gate(weights, ElementType.NATURE, ElementalConfig.forestNatureBias, remaining);
+        for (int i = 0; i < COUNT; i++) {
+            weights[i] += remaining / COUNT;
+        }
+        return weights;
+    }
+
+    private static double gate(double[] weights, ElementType type, double percent, double remaining) {
+        double chance = Math.max(0.0, Math.min(1.0, percent / 100.0));
+        weights[type.ordinal() - 1] += remaining * chance;
+        return remaining * (1.0 - chance);
+    }
+
+    /**
+     * 自定义群系偏向的新解析结果发布后调用（可能在后台线程），所有群系的别名表在下一次使用时重建。
+     */
+    public static void invalidate() {
+        CUSTOM_BIAS_VERSION.incrementAndGet();
+        TABLES.clear();
+    }
+
+    /**
+     * 获取群系在指定天气与冷暖条件下的别名表。
+     */
+    public static AliasTable getTable(Holder<Biome> biomeHolder, boolean thundering, boolean cold) {
+        int configVersion = ElementalConfig.cacheVersion;
+        int customVersion = CUSTOM_BIAS_VERSION.get();
+        BiomeTables tables = TABLES.get(biomeHolder.value());
+        if (tables == null || tables.configVersion != configVersion || tables.customVersion != customVersion) {
+            tables = new BiomeTables(configVersion, customVersion, biomeHolder);
+            TABLES.put(biomeHolder.value(), tables);
         }
+        return tables.variants[(thundering ? VARIANT_THUNDER : 0) | (cold ? VARIANT_COLD : 0)];
+    }
+
+    public static ElementType getBiasedElement(ServerLevel level, BlockPos pos) {
+        Holder<Biome> biomeHolder = level.getBiome(pos);
+        return getTable(biomeHolder, level.isThundering(), isCold(biomeHolder.value(), pos)).sample(RANDOM);
+    }
 
-        return ElementType.values()[1 + RANDOM.nextInt(4)];
+    public static boolean isCold(Biome biome, BlockPos pos) {
+        return biome.coldEnoughToSnow(pos) || biome.getBaseTemperature() <= 0.05F;
     }
 
     private static boolean isForest(Holder<Biome> biomeHolder) {
         return biomeHolder.is(BiomeTags.IS_FOREST) || biomeHolder.is(BiomeTags.IS_JUNGLE);
     }
-}
\ No newline at end of file
+}
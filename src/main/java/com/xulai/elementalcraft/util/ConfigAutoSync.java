@@ -1,6 +1,9 @@
 package com.xulai.elementalcraft.util;
 
-import com.electronwill.nightconfig.core.file.CommentedFileConfig;
+import com.electronwill.nightconfig.core.CommentedConfig;
+import com.electronwill.nightconfig.core.UnmodifiableConfig;
+import com.electronwill.nightconfig.core.io.ParsingException;
+import com.electronwill.nightconfig.toml.TomlFormat;
 import com.xulai.elementalcraft.ElementalCraft;
 import com.xulai.elementalcraft.config.ElementalConfig;
 import com.xulai.elementalcraft.config.ElementalFireNatureReactionsConfig;
@@ -9,101 +12,281 @@ import com.xulai.elementalcraft.config.ElementalVisualConfig;
 import com.xulai.elementalcraft.config.ForcedItemConfig;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.config.ConfigTracker;
+import net.minecraftforge.fml.config.ModConfig;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 配置文件自动同步 / Watches the mod's config files and applies edits on a live server.
+ * <p>
+ * 后台线程通过 {@link WatchService} 监听配置目录，同一文件的连续修改在 {@link #DEBOUNCE_MS} 内合并为一次；
+ * 随后在后台线程中读取、解析并按配置规范校验整个文件，得到一份完整的配置快照。
+ * 服务端线程只在 tick 结束时取走快照，把与当前值不同的项写入已加载的配置并刷新缓存，文件 IO 与 TOML 解析都不占用服务端 tick。
+ * 解析失败或文件为空（编辑器正在写入）时保留当前配置。
+ */
 @Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
 public class ConfigAutoSync {
 
-    private static final Map<String, Long> FILE_TIMESTAMPS = new HashMap<>();
+    private static final long DEBOUNCE_MS = 500;
 
-    private static int tickCounter = 0;
+    private enum Target {
+        COMMON(ElementalConfig.SPEC, "elementalcraft-common.toml", () -> {
+            ElementalConfig.refreshCache();
+            CustomBiomeBias.clearCache();
+            ForcedAttributeHelper.clearCache();
+        }),
+        FORCED_ITEMS(ForcedItemConfig.SPEC, "elementalcraft-forced-items.toml", ForcedItemHelper::clearCache),
+        FIRE_NATURE(ElementalFireNatureReactionsConfig.SPEC, "elementalcraft-fire-nature-reactions.toml",
+                ElementalFireNatureReactionsConfig::refreshCache),
+        VISUALS(ElementalVisualConfig.SPEC, "elementalcraft-visuals.toml", ElementalVisualConfig::refreshCache),
+        THUNDER_FROST(ElementalThunderFrostReactionsConfig.SPEC, "elementalcraft-thunder-frost-reactions.toml",
+                ElementalThunderFrostReactionsConfig::refreshCache);
+
+        private final ForgeConfigSpec spec;
+        private final String fileName;
+        private final Runnable onReload;
+
+        Target(ForgeConfigSpec spec, String fileName, Runnable onReload) {
+            this.spec = spec;
+            this.fileName = fileName;
+            this.onReload = onReload;
+        }
+    }
 
-    private static final int CHECK_INTERVAL = 100;
+    // 后台线程解析完成、等待服务端线程应用的快照；同一文件只保留最新一份
+    private static final Map<Target, CommentedConfig> PENDING = new ConcurrentHashMap<>();
 
-    private static final String COMMON = "ElementalCraft/elementalcraft-common.toml";
-    private static final String FORCED_ITEMS = "ElementalCraft/elementalcraft-forced-items.toml";
-    private static final String FIRE_NATURE = "ElementalCraft/elementalcraft-fire-nature-reactions.toml";
-    private static final String VISUALS = "ElementalCraft/elementalcraft-visuals.toml";
-    private static final String THUNDER_FROST = "ElementalCraft/elementalcraft-thunder-frost-reactions.toml";
+    private static volatile Watcher watcher;
 
     @SubscribeEvent
-    public static void onServerTick(TickEvent.ServerTickEvent event) {
-        if (event.phase != TickEvent.Phase.END) return;
+    public static void onServerStarted(ServerStartedEvent event) {
+        Map<Path, Target> targets = new HashMap<>();
+        for (ModConfig config : ConfigTracker.INSTANCE.configSets().get(ModConfig.Type.COMMON)) {
+            if (!ElementalCraft.MODID.equals(config.getModId())) continue;
+            for (Target target : Target.values()) {
+                if (config.getSpec() == target.spec) {
+                    targets.put(config.getFullPath().toAbsolutePath().normalize(), target);
+                }
+            }
+        }
+        if (targets.isEmpty()) return;
 
-        tickCounter++;
-        if (tickCounter < CHECK_INTERVAL) {
-            return;
+        try {
+            Watcher started = new Watcher(targets);
+            started.start();
+            watcher = started;
+        } catch (IOException e) {
+            ElementalCraft.LOGGER.error("[ElementalCraft] Failed to start config watcher, config files will not auto-reload", e);
         }
-        tickCounter = 0;
+    }
 
-        checkConfig(ElementalConfig.SPEC, COMMON, () -> {
-            ElementalConfig.refreshCache();
-            CustomBiomeBias.clearCache();
-            ForcedAttributeHelper.clearCache();
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        Watcher current = watcher;
+        watcher = null;
+        if (current != null) {
+            current.shutdown();
+        }
+        PENDING.clear();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || PENDING.isEmpty()) return;
+
+        for (Target target : Target.values()) {
+            CommentedConfig snapshot = PENDING.remove(target);
+            if (snapshot != null) {
+                apply(target, snapshot);
+            }
+        }
+    }
 
-            ElementalCraft.LOGGER.info("[ElementalCraft] Detected change in elementalcraft-common.toml, caches refreshed automatically.");
-        });
+    private static void apply(Target target, CommentedConfig snapshot) {
+        CommentedConfig loaded = findLoadedConfig(target);
+        if (loaded == null) return;
 
-        checkConfig(ForcedItemConfig.SPEC, FORCED_ITEMS, () -> {
-            ForcedItemHelper.clearCache();
+        try {
+            // 文件内容本身就是新值，只在变化时写入并刷新；自身保存或未改动的写入在这里被过滤
+            if (copyChangedValues(loaded, snapshot) == 0) return;
 
-            ElementalCraft.LOGGER.info("[ElementalCraft] Detected change in elementalcraft-forced-items.toml, caches refreshed automatically.");
-        });
+            target.spec.afterReload();
+            target.onReload.run();
+            ElementalCraft.LOGGER.info("[ElementalCraft] Detected change in {}, caches refreshed automatically.", target.fileName);
+        } catch (Exception e) {
+            ElementalCraft.LOGGER.error("[ElementalCraft] Failed to auto-reload config: {}", target.fileName, e);
+        }
+    }
 
-        checkConfig(ElementalFireNatureReactionsConfig.SPEC, FIRE_NATURE, () -> {
-            ElementalFireNatureReactionsConfig.refreshCache();
+    private static CommentedConfig findLoadedConfig(Target target) {
+        for (ModConfig config : ConfigTracker.INSTANCE.configSets().get(ModConfig.Type.COMMON)) {
+            if (config.getSpec() == target.spec) {
+                return config.getConfigData();
+            }
+        }
+        return null;
+    }
 
-            ElementalCraft.LOGGER.info("[ElementalCraft] Detected change in elementalcraft-fire-nature-reactions.toml, caches refreshed automatically.");
-        });
+    /**
+     * 逐项比较并把不同的值写入已加载的配置，返回写入的项数。
+     */
+    private static int copyChangedValues(CommentedConfig loaded, UnmodifiableConfig snapshot) {
+        int changed = 0;
+        for (UnmodifiableConfig.Entry entry : snapshot.entrySet()) {
+            List<String> key = List.of(entry.getKey());
+            Object value = entry.getValue();
+            Object current = loaded.get(key);
+            if (value instanceof UnmodifiableConfig section && current instanceof CommentedConfig currentSection) {
+                changed += copyChangedValues(currentSection, section);
+            } else if (!Objects.equals(current, value)) {
+                loaded.set(key, value);
+                changed++;
+            }
+        }
+        return changed;
+    }
 
-        checkConfig(ElementalVisualConfig.SPEC, VISUALS, () -> {
-            ElementalVisualConfig.refreshCache();
+    /**
+     * 后台监听线程：合并短时间内的连续修改，解析校验后把快照放入 {@link #PENDING}。
+     */
+    private static final class Watcher extends Thread {
+        private final WatchService service;
+        private final Map<Path, Target> targets;
+        private final Map<Target, Long> due = new EnumMap<>(Target.class);
 
-            ElementalCraft.LOGGER.info("[ElementalCraft] Detected change in elementalcraft-visuals.toml, caches refreshed automatically.");
-        });
+        private Watcher(Map<Path, Target> targets) throws IOException {
+            super("ElementalCraft Config Watcher");
+            setDaemon(true);
+            this.targets = targets;
+            this.service = FileSystems.getDefault().newWatchService();
 
-        checkConfig(ElementalThunderFrostReactionsConfig.SPEC, THUNDER_FROST, () -> {
-            ElementalThunderFrostReactionsConfig.refreshCache();
+            Set<Path> directories = new HashSet<>();
+            for (Path path : targets.keySet()) {
+                directories.add(path.getParent());
+            }
+            for (Path directory : directories) {
+                directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
 
-            ElementalCraft.LOGGER.info("[ElementalCraft] Detected change in elementalcraft-thunder-frost-reactions.toml, caches refreshed automatically.");
-        });
-    }
+        private void shutdown() {
+            try {
+                service.close();
+            } catch (IOException e) {
+                ElementalCraft.LOGGER.warn("[ElementalCraft] Failed to close config watcher", e);
+            }
+        }
 
-    private static void checkConfig(ForgeConfigSpec spec, String fileName, Runnable onReload) {
-        if (!(spec.getValues() instanceof CommentedFileConfig fileConfig)) return;
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    WatchKey key;
+                    if (due.isEmpty()) {
+                        key = service.take();
+                    } else {
+                        long wait = Math.max(1, nextDeadline() - System.currentTimeMillis());
+                        key = service.poll(wait, TimeUnit.MILLISECONDS);
+                    }
 
-        File file = fileConfig.getFile();
-        if (file == null || !file.exists()) return;
+                    if (key != null) {
+                        collect(key);
+                    }
+                    parseDue();
+                }
+            } catch (ClosedWatchServiceException | InterruptedException ignored) {
+                // 服务端关闭
+            }
+        }
 
-        long currentModified = file.lastModified();
-        Long lastModified = FILE_TIMESTAMPS.get(fileName);
+        private void collect(WatchKey key) {
+            long deadline = System.currentTimeMillis() + DEBOUNCE_MS;
+            Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    for (Target target : targets.values()) {
+                        due.put(target, deadline);
+                    }
+                    continue;
+                }
+                Target target = targets.get(directory.resolve((Path) event.context()).toAbsolutePath().normalize());
+                if (target != null) {
+                    due.put(target, deadline);
+                }
+            }
+            key.reset();
+        }
 
-        if (lastModified == null) {
-            FILE_TIMESTAMPS.put(fileName, currentModified);
+        private long nextDeadline() {
+            long next = Long.MAX_VALUE;
+            for (long deadline : due.values()) {
+                next = Math.min(next, deadline);
+            }
+            return next;
+        }
 
-            if (fileName.equals(COMMON)) ElementalConfig.refreshCache();
-            if (fileName.equals(FORCED_ITEMS)) ForcedItemHelper.clearCache();
-            if (fileName.equals(FIRE_NATURE)) ElementalFireNatureReactionsConfig.refreshCache();
-            if (fileName.equals(VISUALS)) ElementalVisualConfig.refreshCache();
-            if (fileName.equals(THUNDER_FROST)) ElementalThunderFrostReactionsConfig.refreshCache();
+        private void parseDue() {
+            long now = System.currentTimeMillis();
+            Iterator<Map.Entry<Target, Long>> it = due.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Target, Long> entry = it.next();
+                if (entry.getValue() > now) continue;
+                it.remove();
 
-            return;
+                Target target = entry.getKey();
+                for (Map.Entry<Path, Target> file : targets.entrySet()) {
+                    if (file.getValue() == target) {
+                        CommentedConfig snapshot = parse(target, file.getKey());
+                        if (snapshot != null) {
+                            PENDING.put(target, snapshot);
+                        }
+                    }
+                }
+            }
         }
 
-        if (currentModified > lastModified) {
-            FILE_TIMESTAMPS.put(fileName, currentModified);
+        private static CommentedConfig parse(Target target, Path path) {
+            CommentedConfig parsed;
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                parsed = TomlFormat.instance().createParser().parse(reader);
+            } catch (IOException | ParsingException e) {
+                ElementalCraft.LOGGER.warn("[ElementalCraft] Could not parse {}, keeping current values: {}", target.fileName, e.getMessage());
+                return null;
+            }
 
-            try {
-                fileConfig.load();
-                onReload.run();
-            } catch (Exception e) {
-                ElementalCraft.LOGGER.error("[ElementalCraft] Failed to auto-reload config: {}", fileName, e);
+            if (parsed.isEmpty()) {
+                return null;
+            }
+            if (!target.spec.isCorrect(parsed)) {
+                int corrected = target.spec.correct(parsed);
+                ElementalCraft.LOGGER.warn("[ElementalCraft] {} has {} invalid or missing values, defaults are used for them", target.fileName, corrected);
             }
+            return parsed;
         }
     }
 }
@@ -1,61 +1,125 @@
 package com.xulai.elementalcraft.util;
 
+import com.xulai.elementalcraft.ElementalCraft;
 import com.xulai.elementalcraft.config.ElementalConfig;
+import net.minecraft.Util;
 import net.minecraft.resources.ResourceLocation;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 自定义群系属性偏向 / Parsed CUSTOM_BIOME_ATTRIBUTE_BIAS entries.
+ * <p>
+ * 配置列表在每个配置版本只解析一次，得到 群系ID → float[4] 的不可变映射（下标 i 对应 ElementType.values()[i + 1]），
+ * 解析在后台线程进行，完成后整体替换发布并使 {@link BiomeAttributeBias} 的别名表失效。无效条目在解析时各报告一次。
+ * 首次查询时若尚无解析结果，则在调用线程同步解析一次。
+ */
 public final class CustomBiomeBias {
 
-    private static final Map<ResourceLocation, Map<ElementType, Double>> BIOME_BIAS_CACHE = new ConcurrentHashMap<>();
+    private static final float[] NO_BIAS = new float[4];
+
+    private static volatile Map<ResourceLocation, float[]> snapshot;
+    private static final AtomicInteger GENERATION = new AtomicInteger();
 
     private CustomBiomeBias() {}
 
+    /**
+     * 配置列表变更后调用：在后台重新解析，较新的请求完成后较旧的结果不再发布。
+     */
     public static void clearCache() {
-        BIOME_BIAS_CACHE.clear();
+        List<? extends String> lines = ElementalConfig.CUSTOM_BIOME_ATTRIBUTE_BIAS.get();
+        int generation = GENERATION.incrementAndGet();
+        CompletableFuture.supplyAsync(() -> parse(lines), Util.backgroundExecutor())
+                .thenAccept(biases -> publish(generation, biases))
+                .exceptionally(e -> {
+                    ElementalCraft.LOGGER.error("[ElementalCraft] Failed to parse custom_biome_attribute_bias", e);
+                    return null;
+                });
+    }
+
+    private static synchronized void publish(int generation, Map<ResourceLocation, float[]> parsed) {
+        if (generation != GENERATION.get()) return;
+        snapshot = parsed;
+        BiomeAttributeBias.invalidate();
+    }
+
+    /**
+     * 返回群系的四属性权重（0~100 的累加值），未配置时为全 0；返回的数组不可修改。
+     */
+    public static float[] getCustomBias(ResourceLocation id) {
+        Map<ResourceLocation, float[]> current = snapshot;
+        if (current == null) {
+            current = parse(ElementalConfig.CUSTOM_BIOME_ATTRIBUTE_BIAS.get());
+            synchronized (CustomBiomeBias.class) {
+                if (snapshot == null) {
+                    snapshot = current;
+                }
+            }
+        }
+        return current.getOrDefault(id, NO_BIAS);
     }
 
-    public static Map<ElementType, Double> getCustomBias(ResourceLocation id) {
-        return BIOME_BIAS_CACHE.computeIfAbsent(id, k -> {
-            Map<ElementType, Double> bias = new HashMap<>();
-            bias.put(ElementType.FIRE, 0.0);
-            bias.put(ElementType.FROST, 0.0);
-            bias.put(ElementType.NATURE, 0.0);
-            bias.put(ElementType.THUNDER, 0.0);
-
-            for (String line : ElementalConfig.CUSTOM_BIOME_ATTRIBUTE_BIAS.get()) {
-                String[] parts = line.split(",");
-                if (parts.length != 3) continue;
-
-                String biomeId = parts[0].trim();
-                String elementId = parts[1].trim().toLowerCase();
-                String probStr = parts[2].trim();
-
-                if (!biomeId.equals(id.toString())) continue;
-
-                try {
-                    double prob = Double.parseDouble(probStr);
-                    if (prob < 0) prob = 0;
-                    if (prob > 100) prob = 100;
-
-                    if ("all".equals(elementId)) {
-                        bias.put(ElementType.FIRE, bias.get(ElementType.FIRE) + prob);
-                        bias.put(ElementType.FROST, bias.get(ElementType.FROST) + prob);
-                        bias.put(ElementType.NATURE, bias.get(ElementType.NATURE) + prob);
-                        bias.put(ElementType.THUNDER, bias.get(ElementType.THUNDER) + prob);
-                    } else {
-                        ElementType type = ElementType.fromId(elementId);
-                        if (type != null && type != ElementType.NONE) {
-                            bias.put(type, bias.get(type) + prob);
-                        }
-                    }
-                } catch (NumberFormatException ignored) {
+    private static Map<ResourceLocation, float[]> parse(List<? extends String> lines) {
+        Map<ResourceLocation, float[]> biases = new HashMap<>();
+        List<String> invalid = new ArrayList<>();
+
+        for (String raw : lines) {
+            String line = raw.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            String[] parts = line.split(",");
+            String biomeStr;
+            String elementId;
+            String probStr;
+            if (parts.length == 3) {
+                biomeStr = parts[0].trim();
+                elementId = parts[1].trim().toLowerCase();
+                probStr = parts[2].trim();
+            } else if (parts.length == 2 && parts[0].lastIndexOf(':') > parts[0].indexOf(':')) {
+                // 群系指令写入的 "群系ID:属性,概率" 格式
+                int split = parts[0].lastIndexOf(':');
+                biomeStr = parts[0].substring(0, split).trim();
+                elementId = parts[0].substring(split + 1).trim().toLowerCase();
+                probStr = parts[1].trim();
+            } else {
+                invalid.add(line);
+                continue;
+            }
+
+            ResourceLocation biomeId = ResourceLocation.tryParse(biomeStr);
+            ElementType type = "all".equals(elementId) ? null : ElementType.fromId(elementId);
+            if (biomeId == null || (!"all".equals(elementId) && (type == null || type == ElementType.NONE))) {
+                invalid.add(line);
+                continue;
+            }
+
+            float prob;
+            try {
+                prob = Float.parseFloat(probStr);
+            } catch (NumberFormatException e) {
+                invalid.add(line);
+                continue;
+            }
+            prob = Math.max(0.0f, Math.min(100.0f, prob));
+
+            float[] bias = biases.computeIfAbsent(biomeId, k -> new float[4]);
+            if (type == null) {
+                for (int i = 0; i < bias.length; i++) {
+                    bias[i] += prob;
                 }
+            } else {
+                bias[type.ordinal() - 1] += prob;
             }
+        }
 
-            return bias;
-        });
+        for (String line : invalid) {
+            ElementalCraft.LOGGER.warn("[ElementalCraft] Ignoring invalid custom_biome_attribute_bias entry: \"{}\"", line);
+        }
+        return Map.copyOf(biases);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package com.xulai.elementalcraft.util;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import com.xulai.elementalcraft.config.ElementalConfig;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraftforge.event.entity.EntityLeaveLevelEvent;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 实体元素档案缓存 / Cached per-entity elemental profile.
+ * <p>
+ * 一次性汇总实体装备上的攻击属性、四系强化点数与抗性点数，避免每次伤害/每 tick 都重新遍历装备槽读取附魔。
+ * 服务端在 {@link LivingEquipmentChangeEvent} 时失效；客户端收不到该事件，按实体 tickCount 每 tick 最多重建一次。
+ * 配置刷新后通过 {@link ElementalConfig#cacheVersion} 统一失效。
+ */
+@Mod.EventBusSubscriber(modid = ElementalCraft.MODID)
+public final class ElementProfile {
+
+    private static final int ELEMENT_COUNT = ElementType.values().length;
+
+    // 服务端与客户端分开存放，各自只在对应主线程访问
+    private static final Map<LivingEntity, ElementProfile> SERVER_PROFILES = new WeakHashMap<>();
+    private static final Map<LivingEntity, ElementProfile> CLIENT_PROFILES = new WeakHashMap<>();
+
+    private final ElementType attackElement;
+    private final ElementType dominantElement;
+    private final int[] enhancementPoints = new int[ELEMENT_COUNT];
+    private final int[] resistancePoints = new int[ELEMENT_COUNT];
+    private final int configVersion;
+    private final int builtTick;
+
+    private ElementProfile(LivingEntity entity) {
+        this.configVersion = ElementalConfig.cacheVersion;
+        this.builtTick = entity.tickCount;
+
+        ElementSignature mainHand = ElementSignature.of(entity.getMainHandItem());
+        ElementType attack = mainHand.getAttackElement();
+        if (attack == ElementType.NONE) {
+            attack = ElementSignature.of(entity.getOffhandItem()).getAttackElement();
+        }
+        this.attackElement = attack;
+
+        int[] enhanceLevels = new int[ELEMENT_COUNT];
+        int[] resistLevels = new int[ELEMENT_COUNT];
+        for (ElementType type : ElementType.values()) {
+            if (type == ElementType.NONE) continue;
+            enhanceLevels[type.ordinal()] = mainHand.getEnhancementLevel(type);
+        }
+
+        ElementType dominant = ElementType.NONE;
+        for (EquipmentSlot slot : EquipmentSlot.values()) {
+            ElementSignature signature = ElementSignature.of(entity.getItemBySlot(slot));
+            if (signature.isEmpty()) continue;
+
+            if (dominant == ElementType.NONE) {
+                dominant = signature.getDominantElement();
+            }
+
+            if (slot.getType() != EquipmentSlot.Type.ARMOR) continue;
+            for (ElementType type : ElementType.values()) {
+                if (type == ElementType.NONE) continue;
+                enhanceLevels[type.ordinal()] += signature.getEnhancementLevel(type);
+                resistLevels[type.ordinal()] += signature.getResistanceLevel(type);
+            }
+        }
+        this.dominantElement = dominant;
+
+        int strengthPerLevel = ElementalConfig.getStrengthPerLevel();
+        int resistPerLevel = ElementalConfig.getResistPerLevel();
+        for (int i = 0; i < ELEMENT_COUNT; i++) {
+            enhancementPoints[i] = enhanceLevels[i] * strengthPerLevel;
+            resistancePoints[i] = resistLevels[i] * resistPerLevel;
+        }
+    }
+
+    /**
+     * 获取实体当前的元素档案，过期时自动重建。
+     * Returns the entity's current profile, rebuilding it if stale.
+     */
+    public static ElementProfile of(LivingEntity entity) {
+        Map<LivingEntity, ElementProfile> profiles = entity.level().isClientSide ? CLIENT_PROFILES : SERVER_PROFILES;
+        ElementProfile profile = profiles.get(entity);
+        if (profile == null || !profile.isValidFor(entity)) {
+            profile = new ElementProfile(entity);
+            profiles.put(entity, profile);
+        }
+        return profile;
+    }
+
+    /**
+     * 手动失效，用于原地修改装备附魔（不会触发装备变更事件）之后。
+     * Drops the cached profile; call after mutating equipped stacks in place.
+     */
+    public static void invalidate(LivingEntity entity) {
+        if (entity == null) return;
+        (entity.level().isClientSide ? CLIENT_PROFILES : SERVER_PROFILES).remove(entity);
+    }
+
+    private boolean isValidFor(LivingEntity entity) {
+        if (configVersion != ElementalConfig.cacheVersion) return false;
+        return !entity.level().isClientSide || builtTick == entity.tickCount;
+    }
+
+    public ElementType getAttackElement() {
+        return attackElement;
+    }
+
+    /**
+     * 与 {@link ElementUtils#getElementType(LivingEntity)} 一致：首个带元素的装备槽的主导元素。
+     */
+    public ElementType getDominantElement() {
+        return dominantElement;
+    }
+
+    public int getEnhancement(ElementType type) {
+        return type == null ? 0 : enhancementPoints[type.ordinal()];
+    }
+
+    public int getResistance(ElementType type) {
+        return type == null ? 0 : resistancePoints[type.ordinal()];
+    }
+
+    /**
+     * 武器属性且对应强化点数 > 0 时才视为有效攻击属性。
+     */
+    public ElementType getConsistentAttackElement() {
+        if (attackElement == ElementType.NONE) return ElementType.NONE;
+        return enhancementPoints[attackElement.ordinal()] > 0 ? attackElement : ElementType.NONE;
+    }
+
+    @SubscribeEvent
+    public static void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        invalidate(event.getEntity());
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (event.getEntity() instanceof LivingEntity living) {
+            invalidate(living);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.xulai.elementalcraft.util;
+
+import com.google.common.collect.MapMaker;
+import com.xulai.elementalcraft.ElementalCraft;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.util.Mth;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 物品元素签名 / Pre-decoded elemental signature of an ItemStack.
+ * <p>
+ * 对物品的附魔 ListTag 只遍历一次，解析出攻击属性以及四系强化、四系抗性等级，
+ * 八个等级各占 8 位打包进一个 long。结果按附魔 ListTag 的对象身份弱引用缓存，并记录解析时的列表长度，命中缓存时不再读取 NBT：
+ * 附魔列表被替换（setEnchantments、复制物品）或被原地追加（ItemStack.enchant）后自动重新解析。
+ * 原版不会原地修改已有条目；直接改写条目 ID 或等级的代码需要调用 {@link #invalidate(ItemStack)}。
+ */
+public final class ElementSignature {
+
+    public static final ElementSignature EMPTY = new ElementSignature(ElementType.NONE, 0L, 0);
+
+    private static final int ENHANCE_SHIFT = 0;
+    private static final int RESIST_SHIFT = 32;
+
+    // 附魔槽位：0-3 攻击，4-7 强化，8-11 抗性；元素顺序与 ElementType 一致（NATURE、THUNDER、FROST、FIRE）
+    private static final int STRIKE_BASE = 0;
+    private static final int ENHANCE_BASE = 4;
+    private static final int RESIST_BASE = 8;
+
+    // 与原 getAttackElement 的判定顺序保持一致
+    private static final ElementType[] ATTACK_PRIORITY = {
+            ElementType.FIRE, ElementType.NATURE, ElementType.FROST, ElementType.THUNDER
+    };
+
+    private static final Map<String, Integer> ENCHANT_SLOTS = new HashMap<>();
+
+    static {
+        for (ElementType type : ElementType.values()) {
+            if (type == ElementType.NONE) continue;
+            int index = type.ordinal() - 1;
+            ENCHANT_SLOTS.put(ElementalCraft.MODID + ":" + type.getId() + "_strike", STRIKE_BASE + index);
+            ENCHANT_SLOTS.put(ElementalCraft.MODID + ":" + type.getId() + "_enhancement", ENHANCE_BASE + index);
+            ENCHANT_SLOTS.put(ElementalCraft.MODID + ":" + type.getId() + "_resistance", RESIST_BASE + index);
+        }
+    }
+
+    // 弱键按身份比较，附魔列表对象被回收后条目自动消失
+    private static final ConcurrentMap<ListTag, ElementSignature> CACHE = new MapMaker().weakKeys().makeMap();
+
+    private final ElementType attackElement;
+    private final long levels;
+    private final int sourceSize;
+
+    private ElementSignature(ElementType attackElement, long levels, int sourceSize) {
+        this.attackElement = attackElement;
+        this.levels = levels;
+        this.sourceSize = sourceSize;
+    }
+
+    /**
+     * 获取物品的元素签名，附魔列表未变化时直接返回缓存结果。
+     * Returns the stack's signature, reusing the cached decode while its enchantment list is unchanged.
+     */
+    public static ElementSignature of(ItemStack stack) {
+        if (stack == null || stack.isEmpty()) return EMPTY;
+
+        CompoundTag tag = stack.getTag();
+        if (tag == null || !tag.contains(ItemStack.TAG_ENCH, Tag.TAG_LIST)) return EMPTY;
+
+        return of(tag.getList(ItemStack.TAG_ENCH, Tag.TAG_COMPOUND));
+    }
+
+    static ElementSignature of(ListTag enchantments) {
+        if (enchantments.isEmpty()) return EMPTY;
+
+        ElementSignature cached = CACHE.get(enchantments);
+        if (cached != null && cached.sourceSize == enchantments.size()) {
+            return cached;
+        }
+
+        ElementSignature decoded = decode(enchantments);
+        CACHE.put(enchantments, decoded);
+        return decoded;
+    }
+
+    /**
+     * 丢弃物品当前附魔列表的缓存签名，原地修改附魔条目后调用。
+     * Drops the cached signature of the stack's current enchantment list; call after editing entries in place.
+     */
+    public static void invalidate(ItemStack stack) {
+        if (stack == null || stack.isEmpty()) return;
+
+        CompoundTag tag = stack.getTag();
+        if (tag != null && tag.contains(ItemStack.TAG_ENCH, Tag.TAG_LIST)) {
+            CACHE.remove(tag.getList(ItemStack.TAG_ENCH, Tag.TAG_COMPOUND));
+        }
+    }
+
+    static ElementSignature decode(ListTag enchantments) {
+        int[] slotLevels = new int[12];
+        int seen = 0;
+
+        for (int i = 0; i < enchantments.size(); i++) {
+            CompoundTag entry = enchantments.getCompound(i);
+            Integer slot = ENCHANT_SLOTS.get(entry.getString("id"));
+            if (slot == null) continue;
+
+            // 与 EnchantmentHelper.getTagEnchantmentLevel 一致：重复条目只取第一个，等级限制在 0-255
+            int bit = 1 << slot;
+            if ((seen & bit) != 0) continue;
+            seen |= bit;
+            slotLevels[slot] = Mth.clamp(entry.getInt("lvl"), 0, 255);
+        }
+
+        ElementType attack = ElementType.NONE;
+        for (ElementType type : ATTACK_PRIORITY) {
+            if (slotLevels[STRIKE_BASE + type.ordinal() - 1] > 0) {
+                attack = type;
+                break;
+            }
+        }
+
+        long packed = 0L;
+        for (int i = 0; i < 4; i++) {
+            packed |= (long) slotLevels[ENHANCE_BASE + i] << (ENHANCE_SHIFT + i * 8);
+            packed |= (long) slotLevels[RESIST_BASE + i] << (RESIST_SHIFT + i * 8);
+        }
+
+        return new ElementSignature(attack, packed, enchantments.size());
+    }
+
+    public ElementType getAttackElement() {
+        return attackElement;
+    }
+
+    public int getEnhancementLevel(ElementType type) {
+        if (type == null || type == ElementType.NONE) return 0;
+        return (int) (levels >>> (ENHANCE_SHIFT + (type.ordinal() - 1) * 8)) & 0xFF;
+    }
+
+    public int getResistanceLevel(ElementType type) {
+        if (type == null || type == ElementType.NONE) return 0;
+        return (int) (levels >>> (RESIST_SHIFT + (type.ordinal() - 1) * 8)) & 0xFF;
+    }
+
+    /**
+     * 打包后的等级：低 32 位为强化，高 32 位为抗性，每个元素 8 位。
+     */
+    public long getPackedLevels() {
+        return levels;
+    }
+
+    /**
+     * 主导元素：攻击属性优先，其次第一个强化，再次第一个抗性。
+     */
+    public ElementType getDominantElement() {
+        if (attackElement != ElementType.NONE) return attackElement;
+        if (levels == 0L) return ElementType.NONE;
+
+        for (ElementType type : ElementType.values()) {
+            if (type == ElementType.NONE) continue;
+            if (getEnhancementLevel(type) > 0) return type;
+        }
+
+        for (ElementType type : ElementType.values()) {
+            if (type == ElementType.NONE) continue;
+            if (getResistanceLevel(type) > 0) return type;
+        }
+
+        return ElementType.NONE;
+    }
+
+    public boolean isEmpty() {
+        return attackElement == ElementType.NONE && levels == 0L;
+    }
+}
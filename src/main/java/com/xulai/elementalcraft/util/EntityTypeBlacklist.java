@@ -0,0 +1,95 @@
+package com.xulai.elementalcraft.util;
+
+import com.xulai.elementalcraft.ElementalCraft;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraftforge.registries.ForgeRegistries;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 实体类型黑名单 / Compiled entity-type blacklist.
+ * <p>
+ * 将配置中的实体 ID 字符串编译为按 EntityType 身份比较的集合，检查时无需再拼接注册名字符串。
+ * 以 "#" 开头的条目视为实体标签（例如 "#minecraft:skeletons"），标签内的所有实体都会命中。
+ * 首次检查时才解析注册表，避免配置在实体注册完成前加载时解析失败。
+ */
+public final class EntityTypeBlacklist {
+
+    public static final EntityTypeBlacklist EMPTY = new EntityTypeBlacklist(List.of());
+
+    private final List<? extends String> entries;
+    private volatile Compiled compiled;
+
+    private EntityTypeBlacklist(List<? extends String> entries) {
+        this.entries = entries;
+    }
+
+    public static EntityTypeBlacklist compile(List<? extends String> entries) {
+        if (entries == null || entries.isEmpty()) return EMPTY;
+        return new EntityTypeBlacklist(List.copyOf(entries));
+    }
+
+    public boolean contains(Entity entity) {
+        return entity != null && contains(entity.getType());
+    }
+
+    public boolean contains(EntityType<?> type) {
+        if (entries.isEmpty() || type == null) return false;
+
+        Compiled current = compiled;
+        if (current == null) {
+            current = resolve();
+            compiled = current;
+        }
+
+        if (current.types.contains(type)) return true;
+        for (TagKey<EntityType<?>> tag : current.tags) {
+            if (type.is(tag)) return true;
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private Compiled resolve() {
+        Set<EntityType<?>> types = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<TagKey<EntityType<?>>> tags = new ArrayList<>();
+
+        for (String entry : entries) {
+            if (entry == null) continue;
+            String id = entry.trim();
+            if (id.isEmpty()) continue;
+
+            if (id.startsWith("#")) {
+                ResourceLocation tagId = ResourceLocation.tryParse(id.substring(1));
+                if (tagId != null) {
+                    tags.add(TagKey.create(Registries.ENTITY_TYPE, tagId));
+                } else {
+                    ElementalCraft.LOGGER.warn("[ElementalCraft] Invalid entity tag in blacklist: {}", id);
+                }
+                continue;
+            }
+
+            ResourceLocation key = ResourceLocation.tryParse(id);
+            // 注册表存在默认值（猪），必须先确认键存在
+            if (key != null && ForgeRegistries.ENTITY_TYPES.containsKey(key)) {
+                types.add(ForgeRegistries.ENTITY_TYPES.getValue(key));
+            }
+        }
+
+        return new Compiled(types, List.copyOf(tags));
+    }
+
+    private record Compiled(Set<EntityType<?>> types, List<TagKey<EntityType<?>>> tags) {
+    }
+}
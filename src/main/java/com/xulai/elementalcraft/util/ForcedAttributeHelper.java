@@ -2,22 +2,29 @@ package com.xulai.elementalcraft.util;
 
 import com.xulai.elementalcraft.ElementalCraft;
 import com.xulai.elementalcraft.config.ElementalConfig;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.entity.EntityType;
 import net.minecraftforge.registries.ForgeRegistries;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
 
+/**
+ * 强制实体属性 / Compiled FORCED_ENTITIES table.
+ * <p>
+ * 配置列表在每次重载后的首次使用时整体编译为 EntityType（按引用比较）→ 不可变条目数组，生成时只需一次查表和一次随机下标。
+ * 点数范围在编译时解析为上下限，每次选中时再按概率分段掷点；上下限都固定的条目直接复用预先构建的结果。
+ */
 public final class ForcedAttributeHelper {
 
-    private static final Map<EntityType<?>, List<String>> CONFIG_CACHE = new ConcurrentHashMap<>();
+    private static final ForcedEntry[] NO_ENTRIES = new ForcedEntry[0];
+
+    private static volatile Map<EntityType<?>, ForcedEntry[]> compiled;
 
     private ForcedAttributeHelper() {}
 
     public static void clearCache() {
-        CONFIG_CACHE.clear();
+        compiled = null;
     }
 
     public record ForcedData(
@@ -28,58 +35,109 @@ public final class ForcedAttributeHelper {
             int resistPoints
     ) {}
 
-    public static List<ForcedData> getForcedDataList(EntityType<?> type) {
-        List<String> lines = CONFIG_CACHE.computeIfAbsent(type, t -> {
-            String id = ForgeRegistries.ENTITY_TYPES.getKey(t).toString();
-            return ElementalConfig.FORCED_ENTITIES.get().stream()
-                    .map(s -> s.replace("\"", "").trim())
-                    .filter(s -> s.startsWith(id + ","))
-                    .collect(Collectors.toList());
-        });
-
-        if (lines.isEmpty()) {
-            return Collections.emptyList();
+    /**
+     * 编译后的一行配置；点数为闭区间 [min, max]。
+     */
+    private record ForcedEntry(
+            ElementType attackType,
+            ElementType enhanceType,
+            int enhanceMin,
+            int enhanceMax,
+            ElementType resistType,
+            int resistMin,
+            int resistMax,
+            ForcedData fixed
+    ) {
+        ForcedData roll() {
+            if (fixed != null) {
+                return fixed;
+            }
+            return new ForcedData(attackType,
+                    enhanceType, rollInRange(enhanceMin, enhanceMax),
+                    resistType, rollInRange(resistMin, resistMax));
         }
+    }
 
-        List<ForcedData> result = new ArrayList<>();
-        for (String line : lines) {
-            ForcedData data = parseLine(line);
-            if (data != null) {
-                result.add(data);
-            }
+    /**
+     * 从实体类型的全部强制配置中随机选取一行并掷出点数；未配置时返回 null。
+     */
+    public static ForcedData pickForcedData(EntityType<?> type) {
+        ForcedEntry[] entries = getCompiled().getOrDefault(type, NO_ENTRIES);
+        if (entries.length == 0) {
+            return null;
         }
-        return Collections.unmodifiableList(result);
+        ForcedEntry entry = entries.length == 1 ? entries[0] : entries[ThreadLocalRandom.current().nextInt(entries.length)];
+        return entry.roll();
     }
 
     @Deprecated
     public static ForcedData getForcedData(EntityType<?> type) {
-        List<ForcedData> list = getForcedDataList(type);
-        if (list.isEmpty()) {
-            return null;
+        return pickForcedData(type);
+    }
+
+    private static Map<EntityType<?>, ForcedEntry[]> getCompiled() {
+        Map<EntityType<?>, ForcedEntry[]> current = compiled;
+        if (current == null) {
+            current = compile(ElementalConfig.FORCED_ENTITIES.get());
+            compiled = current;
         }
-        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
+        return current;
     }
 
-    private static ForcedData parseLine(String line) {
-        String[] parts = line.split(",");
-        if (parts.length < 6) {
-            ElementalCraft.LOGGER.error("[ElementalCraft] Invalid forced attribute config line (not enough args): {}", line);
-            return null;
+    private static Map<EntityType<?>, ForcedEntry[]> compile(List<? extends String> rawLines) {
+        Map<EntityType<?>, List<ForcedEntry>> grouped = new IdentityHashMap<>();
+        for (String raw : rawLines) {
+            String line = raw.replace("\"", "").trim();
+            if (line.isEmpty()) continue;
+
+            EntityType<?> type = parseEntityType(line);
+            if (type == null) continue;
+
+            ForcedEntry entry = parseLine(line);
+            if (entry != null) {
+                grouped.computeIfAbsent(type, t -> new ArrayList<>()).add(entry);
+            }
         }
 
-        String entityKey = parts[0].trim();
+        Map<EntityType<?>, ForcedEntry[]> result = new IdentityHashMap<>();
+        grouped.forEach((type, entries) -> result.put(type, entries.toArray(NO_ENTRIES)));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static EntityType<?> parseEntityType(String line) {
+        int comma = line.indexOf(',');
+        String entityKey = (comma < 0 ? line : line.substring(0, comma)).trim();
         if (entityKey.isEmpty()) {
             ElementalCraft.LOGGER.error("[ElementalCraft] Invalid forced attribute config line (empty entity key): {}", line);
             return null;
         }
 
+        ResourceLocation id = ResourceLocation.tryParse(entityKey);
+        if (id == null || !ForgeRegistries.ENTITY_TYPES.containsKey(id)) {
+            ElementalCraft.LOGGER.warn("[ElementalCraft] Unknown entity type in forced_entities config: {}", line);
+            return null;
+        }
+        return ForgeRegistries.ENTITY_TYPES.getValue(id);
+    }
+
+    private static ForcedEntry parseLine(String line) {
+        String[] parts = line.split(",");
+        if (parts.length < 6) {
+            ElementalCraft.LOGGER.error("[ElementalCraft] Invalid forced attribute config line (not enough args): {}", line);
+            return null;
+        }
+
         ElementType attack = parseElement(parts[1].trim());
         ElementType enhance = parseElement(parts[2].trim());
-        int enhancePts = parsePoints(parts[3].trim());
+        int[] enhancePts = parsePoints(parts[3].trim());
         ElementType resist = parseElement(parts[4].trim());
-        int resistPts = parsePoints(parts[5].trim());
+        int[] resistPts = parsePoints(parts[5].trim());
 
-        return new ForcedData(attack, enhance, enhancePts, resist, resistPts);
+        ForcedData fixed = null;
+        if (enhancePts[0] == enhancePts[1] && resistPts[0] == resistPts[1]) {
+            fixed = new ForcedData(attack, enhance, enhancePts[0], resist, resistPts[0]);
+        }
+        return new ForcedEntry(attack, enhance, enhancePts[0], enhancePts[1], resist, resistPts[0], resistPts[1], fixed);
     }
 
     private static ElementType parseElement(String s) {
@@ -87,37 +145,33 @@ public final class ForcedAttributeHelper {
         return ElementType.fromId(s.toLowerCase());
     }
 
-    private static int parsePoints(String s) {
-        if (s == null || s.isBlank()) return 0;
+    /**
+     * 解析点数为 {min, max}；固定值的上下限相同。
+     */
+    private static int[] parsePoints(String s) {
+        if (s == null || s.isBlank()) return new int[]{0, 0};
         String val = s.trim();
 
         try {
             if (val.contains("-")) {
                 String[] range = val.split("-");
                 if (range.length == 2) {
-                    int rawMin = Integer.parseInt(range[0].trim());
-                    int rawMax = Integer.parseInt(range[1].trim());
-                    return rollInRange(rawMin, rawMax);
+                    int min = Math.max(0, Integer.parseInt(range[0].trim()));
+                    int max = Math.max(0, Integer.parseInt(range[1].trim()));
+                    return min <= max ? new int[]{min, max} : new int[]{max, min};
                 }
             }
 
-            int fixed = Integer.parseInt(val);
-            return Math.max(0, fixed);
+            int fixed = Math.max(0, Integer.parseInt(val));
+            return new int[]{fixed, fixed};
 
         } catch (NumberFormatException e) {
             ElementalCraft.LOGGER.error("[ElementalCraft] Invalid number format in forced_entities config: {}", val);
-            return 0;
+            return new int[]{0, 0};
         }
     }
 
     private static int rollInRange(int min, int max) {
-        if (min < 0) min = 0;
-        if (max < 0) max = 0;
-        if (min > max) {
-            int t = min;
-            min = max;
-            max = t;
-        }
         if (min == max) return min;
 
         int rangeDiff = max - min;
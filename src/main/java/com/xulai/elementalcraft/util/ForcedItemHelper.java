@@ -7,100 +7,164 @@ import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
 import net.minecraftforge.registries.ForgeRegistries;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
-
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 强制物品属性 / Resolved forced weapon and armor tables.
+ * <p>
+ * 两个配置列表在每个版本只解析一次，得到 Item（按引用比较）→ 数据 的不可变快照并整体替换发布。
+ * 快照覆盖全部已解析的物品，因此不在表中的物品就是明确的未命中，即使配置中的物品全部无法解析也不会重复解析。
+ * 无法解析的条目在构建快照时各报告一次。
+ */
 public final class ForcedItemHelper {
 
-    private static final Map<Item, WeaponData> WEAPON_CACHE = new ConcurrentHashMap<>();
+    private static final AtomicInteger VERSION = new AtomicInteger();
 
-    private static final Map<Item, ArmorTemplate> ARMOR_CACHE = new ConcurrentHashMap<>();
+    private static volatile Snapshot snapshot;
 
     private ForcedItemHelper() {}
 
+    /**
+     * 配置列表变更后调用，下一次查询时按新版本重建快照。
+     */
     public static void clearCache() {
-        WEAPON_CACHE.clear();
-        ARMOR_CACHE.clear();
+        VERSION.incrementAndGet();
     }
 
-    public record WeaponData(ElementType attackType) {}
+    /**
+     * 当前配置版本，每次 {@link #clearCache()} 后递增。
+     */
+    public static int getVersion() {
+        return VERSION.get();
+    }
 
-    public record ArmorData(ElementType enhanceType, int enhancePoints, ElementType resistType, int resistPoints) {}
+    private record Snapshot(int version, Map<Item, WeaponData> weapons, Map<Item, ArmorTemplate> armor) {}
 
-    private record ArmorTemplate(ElementType enhanceType, RangeValue enhanceRange, ElementType resistType, RangeValue resistRange) {}
+    public record WeaponData(ElementType attackType) {}
 
-    private record RangeValue(int min, int max, boolean isFixed) {
+    /**
+     * 强制盔甲配置：元素类型与点数范围，点数在使用时再掷出。
+     */
+    public record ArmorTemplate(ElementType enhanceType, RangeValue enhanceRange, ElementType resistType, RangeValue resistRange) {}
+
+    public record RangeValue(int min, int max, boolean isFixed) {
         public int roll() {
             if (isFixed) return min;
             return rollInRange(min, max);
         }
-    }
 
-    public static WeaponData getForcedWeapon(Item item) {
-        if (WEAPON_CACHE.isEmpty() && !ForcedItemConfig.FORCED_WEAPONS.get().isEmpty()) {
-            parseWeapons();
+        /**
+         * {@link #roll()} 可能得到的最小点数（范围值掷出后按 10 向下取整）。
+         */
+        public int lowestRoll() {
+            if (isFixed) return min;
+            return (Math.max(0, min) / 10) * 10;
         }
-        return WEAPON_CACHE.get(item);
     }
 
-    public static ArmorData getForcedArmor(Item item) {
-        if (ARMOR_CACHE.isEmpty() && !ForcedItemConfig.FORCED_ARMOR.get().isEmpty()) {
-            parseArmor();
-        }
+    public static WeaponData getForcedWeapon(Item item) {
+        return getSnapshot().weapons().get(item);
+    }
 
-        ArmorTemplate template = ARMOR_CACHE.get(item);
-        if (template == null) return null;
+    /**
+     * 物品的强制盔甲配置；只查表，点数由调用方按需掷出。
+     */
+    public static ArmorTemplate getForcedArmor(Item item) {
+        return getSnapshot().armor().get(item);
+    }
 
-        int enhancePts = template.enhanceRange().roll();
-        int resistPts = template.resistRange().roll();
+    /**
+     * 物品是否配置了强制武器或盔甲属性；只查表，不掷点。
+     */
+    public static boolean isForced(Item item) {
+        Snapshot current = getSnapshot();
+        return current.weapons().containsKey(item) || current.armor().containsKey(item);
+    }
 
-        return new ArmorData(template.enhanceType(), enhancePts, template.resistType(), resistPts);
+    private static Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        int version = VERSION.get();
+        if (current == null || current.version() != version) {
+            current = new Snapshot(version, parseWeapons(), parseArmor());
+            // 构建期间配置再次变更时不覆盖，留给下一次查询重建
+            if (VERSION.get() == version) {
+                snapshot = current;
+            }
+        }
+        return current;
     }
 
-    @SuppressWarnings("deprecation")
-    private static void parseWeapons() {
+    private static Map<Item, WeaponData> parseWeapons() {
+        List<String> invalid = new ArrayList<>();
+        Map<Item, WeaponData> weapons = new IdentityHashMap<>();
         for (String line : ForcedItemConfig.FORCED_WEAPONS.get()) {
-            try {
-                String[] parts = line.split(",");
-                if (parts.length < 2) continue;
+            String[] parts = line.split(",");
+            if (parts.length < 2) {
+                invalid.add(line);
+                continue;
+            }
 
-                ResourceLocation itemId = new ResourceLocation(parts[0].trim());
-                Item item = ForgeRegistries.ITEMS.getValue(itemId);
-                if (item == null) continue;
+            Item item = resolveItem(parts[0]);
+            ElementType attack = ElementType.fromId(parts[1].trim());
+            if (item == null || attack == null) {
+                invalid.add(line);
+                continue;
+            }
 
-                ElementType attack = ElementType.fromId(parts[1].trim());
-                if (attack != ElementType.NONE) {
-                    WEAPON_CACHE.put(item, new WeaponData(attack));
-                }
-            } catch (Exception ignored) {
+            if (attack != ElementType.NONE) {
+                weapons.put(item, new WeaponData(attack));
             }
         }
+        reportInvalid("forced_weapons", invalid);
+        return Collections.unmodifiableMap(weapons);
     }
 
-    @SuppressWarnings("deprecation")
-    private static void parseArmor() {
+    private static Map<Item, ArmorTemplate> parseArmor() {
+        List<String> invalid = new ArrayList<>();
+        Map<Item, ArmorTemplate> armor = new IdentityHashMap<>();
         for (String line : ForcedItemConfig.FORCED_ARMOR.get()) {
-            try {
-                String[] parts = line.split(",");
-                if (parts.length < 5) continue;
+            String[] parts = line.split(",");
+            if (parts.length < 5) {
+                invalid.add(line);
+                continue;
+            }
 
-                ResourceLocation itemId = new ResourceLocation(parts[0].trim());
-                Item item = ForgeRegistries.ITEMS.getValue(itemId);
-                if (item == null) continue;
+            Item item = resolveItem(parts[0]);
+            if (item == null) {
+                invalid.add(line);
+                continue;
+            }
 
-                ElementType enhance = parseElement(parts[1]);
-                RangeValue enhanceRange = parsePointsRange(parts[2]);
+            ElementType enhance = parseElement(parts[1]);
+            RangeValue enhanceRange = parsePointsRange(parts[2]);
 
-                ElementType resist = parseElement(parts[3]);
-                RangeValue resistRange = parsePointsRange(parts[4]);
+            ElementType resist = parseElement(parts[3]);
+            RangeValue resistRange = parsePointsRange(parts[4]);
 
-                if (enhanceRange.max > 0 || resistRange.max > 0) {
-                    ARMOR_CACHE.put(item, new ArmorTemplate(enhance, enhanceRange, resist, resistRange));
-                }
-            } catch (Exception ignored) {
+            if (enhanceRange.max > 0 || resistRange.max > 0) {
+                armor.put(item, new ArmorTemplate(enhance, enhanceRange, resist, resistRange));
             }
         }
+        reportInvalid("forced_armor", invalid);
+        return Collections.unmodifiableMap(armor);
+    }
+
+    private static Item resolveItem(String id) {
+        ResourceLocation itemId = ResourceLocation.tryParse(id.trim());
+        if (itemId == null || !ForgeRegistries.ITEMS.containsKey(itemId)) return null;
+        return ForgeRegistries.ITEMS.getValue(itemId);
+    }
+
+    private static void reportInvalid(String key, List<String> invalid) {
+        for (String line : invalid) {
+            ElementalCraft.LOGGER.warn("[ElementalCraft] Ignoring unresolved {} entry: \"{}\"", key, line);
+        }
     }
 
     private static ElementType parseElement(String s) {
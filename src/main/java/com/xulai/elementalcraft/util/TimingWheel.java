@@ -0,0 +1,124 @@
+package com.xulai.elementalcraft.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 分层时间轮 / Hierarchical timing wheel keyed by game tick.
+ * <p>
+ * 四层、每层 64 格：第 0 层精确到 tick，上层每层粒度乘以 64，覆盖约 1677 万 tick。
+ * 推进时只访问当前 tick 对应的格子，高层格子在低位归零时整体下放，因此定时器在到期前不产生任何开销。
+ * 非线程安全，只应在所属关卡的服务端线程上使用。
+ */
+public final class TimingWheel<T> {
+
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (BITS * LEVELS);
+
+    private final List<Entry<T>>[][] wheels;
+    private final List<Entry<T>> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+        this.wheels = new List[LEVELS][SLOTS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                wheels[level][slot] = new ArrayList<>();
+            }
+        }
+    }
+
+    /**
+     * 在指定 tick 到期；已过期的定时器在下一次推进时立即触发。
+     */
+    public void schedule(long deadline, T payload) {
+        insert(new Entry<>(deadline, payload));
+        size++;
+    }
+
+    /**
+     * 推进到 now（含），按到期顺序回调所有到期的定时器。
+     */
+    public void advance(long now, Consumer<T> onExpire) {
+        fire(overdue, onExpire);
+
+        while (currentTick < now) {
+            currentTick++;
+            if (size == 0) {
+                // 空轮直接跳到目标 tick
+                currentTick = now;
+                break;
+            }
+            // 下放时恰好落在当前 tick 的定时器会进入 overdue，同一 tick 内一并触发
+            cascade();
+            fire(overdue, onExpire);
+            fire(wheels[0][(int) (currentTick & MASK)], onExpire);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    private void fire(List<Entry<T>> slot, Consumer<T> onExpire) {
+        if (slot.isEmpty()) return;
+        // 回调中可能安排新的定时器，先取出再执行
+        List<Entry<T>> due = new ArrayList<>(slot);
+        slot.clear();
+        size -= due.size();
+        for (Entry<T> entry : due) {
+            onExpire.accept(entry.payload);
+        }
+    }
+
+    private void cascade() {
+        // 低位全部归零时，把上一层当前格子里的定时器重新分配到更低的层
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (BITS * level)) - 1)) != 0) break;
+            List<Entry<T>> slot = wheels[level][(int) ((currentTick >>> (BITS * level)) & MASK)];
+            if (slot.isEmpty()) continue;
+            List<Entry<T>> moved = new ArrayList<>(slot);
+            slot.clear();
+            for (Entry<T> entry : moved) {
+                insert(entry);
+            }
+        }
+    }
+
+    private void insert(Entry<T> entry) {
+        long delta = entry.deadline - currentTick;
+        if (delta <= 0) {
+            overdue.add(entry);
+            return;
+        }
+
+        // 超出总跨度的定时器先挂在最高层，下放时再重新计算
+        long target = delta >= MAX_SPAN ? currentTick + MAX_SPAN - 1 : entry.deadline;
+        int level = 0;
+        while (level < LEVELS - 1 && (target >>> (BITS * (level + 1))) != (currentTick >>> (BITS * (level + 1)))) {
+            level++;
+        }
+        wheels[level][(int) ((target >>> (BITS * level)) & MASK)].add(entry);
+    }
+
+    private static final class Entry<T> {
+        private final long deadline;
+        private final T payload;
+
+        private Entry(long deadline, T payload) {
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+    }
+}